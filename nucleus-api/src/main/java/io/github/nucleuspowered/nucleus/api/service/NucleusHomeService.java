@@ -20,6 +20,7 @@ import org.spongepowered.api.world.World;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 /**
@@ -92,6 +93,28 @@ public interface NucleusHomeService {
         return getHomes(user.getUniqueId());
     }
 
+    /**
+     * Gets the {@link Home}s for the specified user, identified by their UUID, without
+     * blocking the calling thread if the user's data needs to be loaded.
+     *
+     * @param user The {@link UUID}
+     * @return A {@link CompletableFuture} that will contain the homes.
+     */
+    default CompletableFuture<List<Home>> getHomesAsync(UUID user) {
+        return CompletableFuture.supplyAsync(() -> getHomes(user));
+    }
+
+    /**
+     * Gets the {@link Home}s for the specified user without blocking the calling thread
+     * if the user's data needs to be loaded.
+     *
+     * @param user The {@link User}
+     * @return A {@link CompletableFuture} that will contain the homes.
+     */
+    default CompletableFuture<List<Home>> getHomesAsync(User user) {
+        return getHomesAsync(user.getUniqueId());
+    }
+
     /**
      * Gets a specified home of the user, if it exists.
      *
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,18 @@ public interface NucleusMailService {
      */
     List<MailMessage> getMail(User player, MailFilter... filters);
 
+    /**
+     * Gets mail for a specific player, optionally including a list of filters, without
+     * blocking the calling thread if the player's data needs to be loaded.
+     *
+     * @param player The {@link User} of the player to get the mail of.
+     * @param filters The {@link MailFilter}s
+     * @return A {@link CompletableFuture} that will contain the list of mail.
+     */
+    default CompletableFuture<List<MailMessage>> getMailAsync(User player, MailFilter... filters) {
+        return CompletableFuture.supplyAsync(() -> getMail(player, filters));
+    }
+
     /**
      * Removes a specific mail for a specific player.
      *
@@ -9,6 +9,7 @@ import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -33,6 +34,28 @@ public interface NucleusNicknameService {
      */
     Optional<Text> getNickname(User user);
 
+    /**
+     * Gets the current nickname for a user with prefix, if it exists, without blocking
+     * the calling thread if the user's data needs to be loaded.
+     *
+     * @param user The {@link User} to inspect.
+     * @return A {@link CompletableFuture} that will contain the nickname in {@link Text} form, if it exists.
+     */
+    default CompletableFuture<Optional<Text>> getNicknameWithPrefixAsync(User user) {
+        return CompletableFuture.supplyAsync(() -> getNicknameWithPrefix(user));
+    }
+
+    /**
+     * Gets the current nickname for a user, if it exists, without blocking the calling
+     * thread if the user's data needs to be loaded.
+     *
+     * @param user The {@link User} to inspect.
+     * @return A {@link CompletableFuture} that will contain the nickname in {@link Text} form, if it exists.
+     */
+    default CompletableFuture<Optional<Text>> getNicknameAsync(User user) {
+        return CompletableFuture.supplyAsync(() -> getNickname(user));
+    }
+
     /**
      * Sets a user's nickname.
      *
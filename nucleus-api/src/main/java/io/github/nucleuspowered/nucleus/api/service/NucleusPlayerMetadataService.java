@@ -14,6 +14,7 @@ import java.net.InetAddress;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Retrieves Nucleus and general metadata about a {@link User}
@@ -37,6 +38,26 @@ public interface NucleusPlayerMetadataService {
         return getUserData(user.getUniqueId());
     }
 
+    /**
+     * Gets the user metadata for a player with the specified UUID, without blocking the
+     * calling thread if the user's data needs to be loaded.
+     * @param uuid The UUID of the user.
+     * @return A {@link CompletableFuture} that will contain the {@link Result} if the user exists.
+     */
+    default CompletableFuture<Optional<Result>> getUserDataAsync(UUID uuid) {
+        return CompletableFuture.supplyAsync(() -> getUserData(uuid));
+    }
+
+    /**
+     * Gets the user metadata for a player with the specified {@link User}, without blocking the
+     * calling thread if the user's data needs to be loaded.
+     * @param user The {@link User}.
+     * @return A {@link CompletableFuture} that will contain the {@link Result} if the user exists.
+     */
+    default CompletableFuture<Optional<Result>> getUserDataAsync(User user) {
+        return getUserDataAsync(user.getUniqueId());
+    }
+
     /**
      * Represents the metadata for a player.
      */
@@ -10,8 +10,10 @@ import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
@@ -67,6 +69,10 @@ public abstract class Nucleus {
 
     public abstract WorldDataManager getWorldDataManager();
 
+    public abstract DataProviders getDataProviders();
+
+    public abstract WriteBehindSaveQueue getSaveQueue();
+
     public abstract UserCacheService getUserCacheService();
 
     public abstract void saveSystemConfig() throws IOException;
@@ -27,9 +27,11 @@ import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.AbstractConfigurateDataProvider;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.internal.CatalogTypeFinalStaticProcessor;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
@@ -45,6 +47,7 @@ import io.github.nucleuspowered.nucleus.internal.messages.ConfigMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionResolverImpl;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectOptionCache;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
 import io.github.nucleuspowered.nucleus.internal.qsml.ModuleRegistrationProxyService;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
@@ -52,6 +55,7 @@ import io.github.nucleuspowered.nucleus.internal.qsml.NucleusLoggerProxy;
 import io.github.nucleuspowered.nucleus.internal.qsml.QuickStartModuleConstructor;
 import io.github.nucleuspowered.nucleus.internal.qsml.event.BaseModuleEvent;
 import io.github.nucleuspowered.nucleus.internal.services.CommandRemapperService;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.internal.services.PermissionResolver;
 import io.github.nucleuspowered.nucleus.internal.services.PlayerOnlineService;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
@@ -112,6 +116,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -136,6 +141,8 @@ public class NucleusPlugin extends Nucleus {
     private UserCacheService userCacheService;
     private UserDataManager userDataManager;
     private WorldDataManager worldDataManager;
+    private final WriteBehindSaveQueue saveQueue = new WriteBehindSaveQueue();
+    private DataProviders dataProviders;
     private NameBanService nameBanService;
     private KitService kitService;
     private TextParsingUtils textParsingUtils;
@@ -304,14 +311,15 @@ public class NucleusPlugin extends Nucleus {
             this.commandsConfig = new CommandsConfig(Paths.get(this.configDir.toString(), "commands.conf"));
 
             DataProviders d = new DataProviders(this);
+            this.dataProviders = d;
             this.generalService = new ModularGeneralService(d.getGeneralDataProvider());
             this.itemDataService = new ItemDataService(d.getItemDataProvider());
             this.itemDataService.loadInternal();
-            this.userDataManager = new UserDataManager(d::getUserFileDataProviders, d::doesUserFileExist);
-            this.worldDataManager = new WorldDataManager(d::getWorldFileDataProvider, d::doesWorldFileExist);
+            this.userDataManager = new UserDataManager(d::getUserFileDataProviders, d::doesUserFileExist, this.saveQueue);
+            this.worldDataManager = new WorldDataManager(d::getWorldFileDataProvider, d::doesWorldFileExist, this.saveQueue);
             this.kitService = new KitService(d.getKitsDataProvider());
             this.nameBanService = new NameBanService(d.getNameBanDataProvider());
-            this.userCacheService = new UserCacheService(d.getUserCacheDataProvider());
+            this.userCacheService = new UserCacheService(d.getUserCacheDataProvider(), d::getUserCacheCheckpointDataProvider);
             this.warmupManager = new WarmupManager();
             this.textParsingUtils = new TextParsingUtils();
             registerReloadable(this.textParsingUtils);
@@ -341,6 +349,7 @@ public class NucleusPlugin extends Nucleus {
         this.serviceManager.registerService(NucleusTokenServiceImpl.class, this.nucleusChatService);
         Sponge.getServiceManager().setProvider(this, NucleusMessageTokenService.class, this.nucleusChatService);
         this.serviceManager.registerService(CommandRemapperService.class, new CommandRemapperService());
+        this.serviceManager.registerService(ExpiryService.class, new ExpiryService());
         this.serviceManager.registerService(PlayerOnlineService.class, PlayerOnlineService.DEFAULT);
 
         try {
@@ -462,6 +471,14 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            this.saveQueue.setMaxDelay(coreConfig.getDataSaveMaxDelay());
+            AbstractConfigurateDataProvider.setBackupInterval(TimeUnit.MINUTES.toMillis(coreConfig.getDataFileBackupInterval()));
+            this.userDataManager.configureCache(coreConfig.getDataCacheConfig());
+            this.worldDataManager.configureCache(coreConfig.getDataCacheConfig());
+            this.nucleusChatService.setMemoiseTokensPerTick(coreConfig.isMemoiseTokensPerTick());
+
+            // Only read at startup, we can't switch storage with data loaded.
+            this.dataProviders.setUseDatabase(coreConfig.isUseDatabase());
         } catch (Throwable construction) {
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.modulenotloaded", PluginInfo.NAME));
             construction.printStackTrace();
@@ -478,6 +495,9 @@ public class NucleusPlugin extends Nucleus {
         logMessageDefault();
         this.logger.info(this.messageProvider.getMessageWithFormat("startup.moduleloaded", PluginInfo.NAME));
         PermissionResolverImpl.INSTANCE.registerPermissions();
+        registerReloadable(PermissionResolverImpl.INSTANCE);
+        Sponge.getEventManager().registerListeners(this, SubjectOptionCache.INSTANCE);
+        registerReloadable(SubjectOptionCache.INSTANCE);
         registerReloadable(this::reloadPerm);
         this.reloadPerm();
         Sponge.getEventManager().post(new BaseModuleEvent.Complete(this));
@@ -604,6 +624,7 @@ public class NucleusPlugin extends Nucleus {
             this.gameStartedTime = null;
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
             saveData();
+            this.saveQueue.shutdown();
             getInternalServiceManager().getServiceUnchecked(CommandRemapperService.class).deactivate();
         }
     }
@@ -696,6 +717,16 @@ public class NucleusPlugin extends Nucleus {
         return this.worldDataManager;
     }
 
+    @Override
+    public DataProviders getDataProviders() {
+        return this.dataProviders;
+    }
+
+    @Override
+    public WriteBehindSaveQueue getSaveQueue() {
+        return this.saveQueue;
+    }
+
     @Override public UserCacheService getUserCacheService() {
         return this.userCacheService;
     }
@@ -718,6 +749,11 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            this.saveQueue.setMaxDelay(coreConfig.getDataSaveMaxDelay());
+            AbstractConfigurateDataProvider.setBackupInterval(TimeUnit.MINUTES.toMillis(coreConfig.getDataFileBackupInterval()));
+            this.userDataManager.configureCache(coreConfig.getDataCacheConfig());
+            this.worldDataManager.configureCache(coreConfig.getDataCacheConfig());
+            this.nucleusChatService.setMemoiseTokensPerTick(coreConfig.isMemoiseTokensPerTick());
 
             for (TextFileController tfc : this.textFileControllers.values()) {
                 tfc.load();
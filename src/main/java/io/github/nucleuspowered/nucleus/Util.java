@@ -8,6 +8,7 @@ import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectOptionCache;
 import io.github.nucleuspowered.nucleus.util.PaginationBuilderWrapper;
 import io.github.nucleuspowered.nucleus.util.ThrownFunction;
 import org.spongepowered.api.CatalogType;
@@ -72,6 +73,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.GZIPOutputStream;
@@ -241,24 +243,40 @@ public class Util {
     }
 
     public static Optional<Double> getDoubleOptionFromSubject(Subject player, String... options) {
-        return getTypedObjectFromSubject(Double::parseDouble, player, options);
+        return getCachedTypedObjectFromSubject("double", Double::parseDouble, player, options);
     }
 
     public static Optional<Long> getPositiveLongOptionFromSubject(Subject player, String... options) {
-        return getTypedObjectFromSubject(Long::parseUnsignedLong, player, options);
+        return getCachedTypedObjectFromSubject("positivelong", Long::parseUnsignedLong, player, options);
     }
 
     public static Optional<Integer> getPositiveIntOptionFromSubject(Subject player, String... options) {
-        return getTypedObjectFromSubject(Integer::parseUnsignedInt, player, options);
+        return getCachedTypedObjectFromSubject("positiveint", Integer::parseUnsignedInt, player, options);
     }
 
     public static Optional<Integer> getIntOptionFromSubject(Subject player, String... options) {
-        return getTypedObjectFromSubject(Integer::parseInt, player, options);
+        return getCachedTypedObjectFromSubject("int", Integer::parseInt, player, options);
+    }
+
+    // For online players, only the converted value is cached, under the type, so parsing only happens once and the
+    // string isn't cached alongside it.
+    private static <T> Optional<T> getCachedTypedObjectFromSubject(String type, ThrownFunction<String, T, Exception> conversion, Subject player,
+            String... options) {
+        if (player instanceof Player) {
+            return SubjectOptionCache.INSTANCE.get((Player) player, type, options,
+                    () -> convertOption(conversion, () -> getOptionFromSubjectInternal(player, options)));
+        }
+
+        return getTypedObjectFromSubject(conversion, player, options);
     }
 
     public static <T> Optional<T> getTypedObjectFromSubject(ThrownFunction<String, T, Exception> conversion, Subject player, String... options) {
+        return convertOption(conversion, () -> getOptionFromSubject(player, options));
+    }
+
+    private static <T> Optional<T> convertOption(ThrownFunction<String, T, Exception> conversion, Supplier<Optional<String>> option) {
         try {
-            Optional<String> optional = getOptionFromSubject(player, options);
+            Optional<String> optional = option.get();
             if (optional.isPresent()) {
                 return Optional.ofNullable(conversion.apply(optional.get()));
             }
@@ -277,6 +295,14 @@ public class Util {
      * @return An {@link Optional} that might contain a value.
      */
     public static Optional<String> getOptionFromSubject(Subject player, String... options) {
+        if (player instanceof Player) {
+            return SubjectOptionCache.INSTANCE.get((Player) player, "string", options, () -> getOptionFromSubjectInternal(player, options));
+        }
+
+        return getOptionFromSubjectInternal(player, options);
+    }
+
+    private static Optional<String> getOptionFromSubjectInternal(Subject player, String... options) {
         for (String option : options) {
             String o = option.toLowerCase();
 
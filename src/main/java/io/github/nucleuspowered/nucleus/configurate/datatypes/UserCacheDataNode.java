@@ -9,6 +9,7 @@ import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataMod
 import io.github.nucleuspowered.nucleus.modules.jail.data.JailData;
 import io.github.nucleuspowered.nucleus.modules.jail.datamodules.JailUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
+import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -38,6 +39,22 @@ public class UserCacheDataNode {
         set(x);
     }
 
+    /**
+     * Creates the node from the raw user data, rather than from a loaded
+     * {@link ModularUserService}.
+     *
+     * @param userData The root node of the user data.
+     */
+    public UserCacheDataNode(ConfigurationNode userData) {
+        this.ipAddress = userData.getNode("lastIP").getString();
+        if (this.ipAddress != null) {
+            this.ipAddress = this.ipAddress.replace("/", "");
+        }
+
+        this.jail = userData.getNode("jailData", "jailName").getString();
+        this.isMuted = !userData.getNode("muteData").isVirtual();
+    }
+
     public void set(ModularUserService x) {
         this.ipAddress = x.get(CoreUserDataModule.class).getLastIp().map(y -> y.replace("/", "")).orElse(null);
         this.jail = x.get(JailUserDataModule.class).getJailData().map(JailData::getJailName).orElse(null);
@@ -73,6 +73,12 @@ public abstract class AbstractService<T> implements Service {
         throw new IllegalStateException("Data has not been initialised.");
     }
 
+    @Override
+    public boolean isDirty() {
+        // We don't track changes at this level, so always assume the data has changed.
+        return true;
+    }
+
     @Override public boolean delete() {
         try {
             if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
@@ -14,5 +14,13 @@ public interface Service {
 
     void saveInternal() throws Exception;
 
+    /**
+     * Gets whether the data held by this service has changed since it was
+     * last loaded or saved, and so needs writing to disk.
+     *
+     * @return <code>true</code> if a save would change the stored data.
+     */
+    boolean isDirty();
+
     boolean delete();
 }
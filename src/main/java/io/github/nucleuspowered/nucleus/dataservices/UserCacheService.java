@@ -4,71 +4,116 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.Identifiable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
+    private static final int WALK_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int WALK_BATCH_SIZE = 100;
+    private static final int CHECKPOINT_INTERVAL = 2500;
+    private static final long REPORT_INTERVAL_MS = 10000;
+
+    // Resolved on each use, as the data directory can change after the service is created.
+    private final Supplier<DataProvider<UserCacheVersionNode>> checkpointProvider;
     private boolean isWalking = false;
 
     private final Object lockingObject = new Object();
 
-    public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider) {
+    // Indexes over the cache, kept up to date as entries change. Guarded by indexLock.
+    private final Object indexLock = new Object();
+    private final SetMultimap<String, UUID> ipIndex = HashMultimap.create();
+    private final SetMultimap<String, UUID> jailIndex = HashMultimap.create();
+    private final Set<UUID> mutedIndex = Sets.newHashSet();
+
+    public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider, Supplier<DataProvider<UserCacheVersionNode>> checkpointProvider) {
         super(dataProvider);
+        this.checkpointProvider = checkpointProvider;
     }
 
     public List<UUID> getForIp(String ip) {
-        updateCacheForOnlinePlayers();
-        String ipToCheck = ip.replace("/", "");
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.ipIndex.get(ip.replace("/", "")));
+        }
     }
 
     public List<UUID> getJailed() {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.jailIndex.values());
+        }
     }
 
     public List<UUID> getJailedIn(String name) {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.jailIndex.get(name.toLowerCase()));
+        }
     }
 
     public List<UUID> getMuted() {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.mutedIndex);
+        }
     }
 
     @Override protected String serviceName() {
         return "User Cache";
     }
 
+    @Override public void loadInternal() throws Exception {
+        super.loadInternal();
+        rebuildIndexes();
+    }
+
     public void updateCacheForOnlinePlayers() {
-        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(u ->
-                this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u));
+        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(this::updateCacheForPlayer);
     }
 
+    /**
+     * Updates the cache entry for the given user. This must be called whenever
+     * data that the cache holds changes, such as when a player is jailed.
+     *
+     * @param u The {@link ModularUserService} that has changed.
+     */
     public void updateCacheForPlayer(ModularUserService u) {
-        this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u);
+        synchronized (this.indexLock) {
+            UserCacheDataNode node = this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode());
+            removeFromIndexes(u.getUniqueId(), node);
+            node.set(u);
+            addToIndexes(u.getUniqueId(), node);
+        }
     }
 
     public void updateCacheForPlayer(UUID uuid) {
@@ -76,7 +121,7 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
     }
 
     public void startFilewalkIfNeeded() {
-        if (!this.isWalking && (!isCorrectVersion() || this.data.getNode().isEmpty())) {
+        if (!this.isWalking && (!isCorrectVersion() || this.data.getNode().isEmpty() || hasCheckpoint())) {
             fileWalk();
         }
     }
@@ -86,6 +131,22 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
     }
 
     public boolean fileWalk() {
+        return fileWalk(null);
+    }
+
+    /**
+     * Rebuilds the cache from the stored user data.
+     *
+     * <p>Only the fields the cache needs are read, straight from the user data
+     * rather than through the {@link UserDataManager}, and the reads are split
+     * across a small pool of threads. Partial results are written out as the
+     * walk progresses so that a walk that is interrupted, such as by a server
+     * stop, picks up where it left off the next time it runs.</p>
+     *
+     * @param progressReceiver Receives progress messages, in addition to the console.
+     * @return <code>false</code> if a walk is already in progress.
+     */
+    public boolean fileWalk(@Nullable Consumer<Text> progressReceiver) {
         synchronized (this.lockingObject) {
             if (this.isWalking) {
                 return false;
@@ -94,30 +155,172 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
             this.isWalking = true;
         }
 
+        MessageProvider messageProvider = Nucleus.getNucleus().getMessageProvider();
+        ExecutorService executor = Executors.newFixedThreadPool(WALK_THREADS,
+                new ThreadFactoryBuilder().setNameFormat("Nucleus User Cache Rebuild - %d").setDaemon(true).build());
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
+            Map<UUID, UserCacheDataNode> data = loadCheckpoint();
+            int resumed = data.size();
             List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
-                    .map(Identifiable::getUniqueId).collect(Collectors.toList());
-
-            int count = 0;
-            UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
-            for (UUID user : knownUsers) {
-                if (manager.has(user)) {
-                    manager.get(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.removeOfflinePlayers();
-                        count = 0;
-                    }
+                    .map(Identifiable::getUniqueId).filter(x -> !data.containsKey(x)).collect(Collectors.toList());
+            int total = knownUsers.size() + resumed;
+            if (resumed > 0) {
+                sendProgress(progressReceiver, messageProvider.getTextMessageWithFormat("usercache.rebuild.resume", String.valueOf(resumed)));
+            }
+
+            CompletionService<Map<UUID, UserCacheDataNode>> completionService = new ExecutorCompletionService<>(executor);
+            List<List<UUID>> batches = Lists.partition(knownUsers, WALK_BATCH_SIZE);
+            batches.forEach(x -> completionService.submit(() -> readBatch(x)));
+
+            long start = System.currentTimeMillis();
+            long lastReport = start;
+            int checked = 0;
+            int sinceCheckpoint = 0;
+            for (List<UUID> batch : batches) {
+                data.putAll(completionService.take().get());
+                checked += batch.size();
+                sinceCheckpoint += batch.size();
+                if (sinceCheckpoint >= CHECKPOINT_INTERVAL) {
+                    saveCheckpoint(data);
+                    sinceCheckpoint = 0;
                 }
+
+                long now = System.currentTimeMillis();
+                if (now - lastReport >= REPORT_INTERVAL_MS) {
+                    lastReport = now;
+                    sendProgress(progressReceiver, messageProvider.getTextMessageWithFormat("usercache.rebuild.progress",
+                            String.valueOf(checked + resumed), String.valueOf(total), perSecond(checked, now - start)));
+                }
+            }
+
+            UserCacheVersionNode node = new UserCacheVersionNode();
+            node.getNode().putAll(data);
+            synchronized (this.indexLock) {
+                this.data = node;
+                rebuildIndexes();
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
+            // Anyone that changed while we were walking will have been written to the old data.
+            updateCacheForOnlinePlayers();
             save();
+            deleteCheckpoint();
+
+            long time = System.currentTimeMillis() - start;
+            sendProgress(progressReceiver, messageProvider.getTextMessageWithFormat("usercache.rebuild.complete",
+                    String.valueOf(checked), String.valueOf(time / 1000), perSecond(checked, time)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Nucleus.getNucleus().getLogger().error("Could not rebuild the user cache, it will be resumed on the next attempt.", e);
         } finally {
+            executor.shutdownNow();
             this.isWalking = false;
         }
 
         return true;
     }
+
+    private Map<UUID, UserCacheDataNode> readBatch(List<UUID> batch) {
+        UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
+        Map<UUID, UserCacheDataNode> result = Maps.newHashMap();
+        for (UUID user : batch) {
+            try {
+                // Loaded users may have changes that have not been written yet.
+                Optional<ModularUserService> loaded = manager.getIfLoaded(user);
+                if (loaded.isPresent()) {
+                    result.put(user, new UserCacheDataNode(loaded.get()));
+                } else {
+                    manager.loadUncached(user).ifPresent(x -> result.put(user, new UserCacheDataNode(x)));
+                }
+            } catch (Exception e) {
+                if (Nucleus.getNucleus().isDebugMode()) {
+                    Nucleus.getNucleus().getLogger().warn("Could not read the data for " + user.toString() + " when rebuilding the user cache.", e);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private boolean hasCheckpoint() {
+        DataProvider<UserCacheVersionNode> provider = this.checkpointProvider.get();
+        return provider != null && provider.has();
+    }
+
+    private Map<UUID, UserCacheDataNode> loadCheckpoint() {
+        Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
+        if (hasCheckpoint()) {
+            try {
+                UserCacheVersionNode checkpoint = this.checkpointProvider.get().load();
+                if (checkpoint.getVersion() == expectedVersion) {
+                    data.putAll(checkpoint.getNode());
+                }
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().warn("Could not read the partial user cache, the rebuild will start from the beginning.");
+            }
+        }
+
+        return data;
+    }
+
+    private void saveCheckpoint(Map<UUID, UserCacheDataNode> data) {
+        DataProvider<UserCacheVersionNode> provider = this.checkpointProvider.get();
+        if (provider != null) {
+            UserCacheVersionNode checkpoint = new UserCacheVersionNode();
+            checkpoint.getNode().putAll(data);
+            try {
+                provider.save(checkpoint);
+            } catch (Exception e) {
+                if (Nucleus.getNucleus().isDebugMode()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (hasCheckpoint()) {
+            try {
+                this.checkpointProvider.get().delete();
+            } catch (Exception e) {
+                if (Nucleus.getNucleus().isDebugMode()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static String perSecond(int count, long millis) {
+        return String.valueOf(millis <= 0 ? count : count * 1000L / millis);
+    }
+
+    private static void sendProgress(@Nullable Consumer<Text> progressReceiver, Text message) {
+        Nucleus.getNucleus().getLogger().info(message.toPlain());
+        if (progressReceiver != null) {
+            progressReceiver.accept(message);
+        }
+    }
+
+    private void rebuildIndexes() {
+        synchronized (this.indexLock) {
+            this.ipIndex.clear();
+            this.jailIndex.clear();
+            this.mutedIndex.clear();
+            this.data.getNode().forEach(this::addToIndexes);
+        }
+    }
+
+    private void addToIndexes(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.put(x, uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.put(x.toLowerCase(), uuid));
+        if (node.isMuted()) {
+            this.mutedIndex.add(uuid);
+        }
+    }
+
+    private void removeFromIndexes(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.remove(x, uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.remove(x.toLowerCase(), uuid));
+        this.mutedIndex.remove(uuid);
+    }
 }
@@ -13,21 +13,28 @@ import ninja.leaping.configurate.loader.ConfigurationLoader;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @SuppressWarnings("WeakerAccess")
 public abstract class AbstractConfigurateDataProvider<T> implements DataProvider<T> {
 
+    private static volatile long backupInterval = TimeUnit.MINUTES.toMillis(60);
+
     private final Function<Path, ConfigurationLoader<?>> provider;
 
     protected final ConfigurationLoader<?> loader;
     private final Path file;
     private final Path backupFile;
+    private final Path tempFile;
     private final Logger logger;
 
     public AbstractConfigurateDataProvider(Function<Path, ConfigurationLoader<?>>  loaderProvider, Path file, Logger logger) {
@@ -35,9 +42,20 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
         this.provider = loaderProvider;
         this.file = file;
         this.backupFile = Paths.get(file.toAbsolutePath().toString() + ".bak");
+        this.tempFile = Paths.get(file.toAbsolutePath().toString() + ".tmp");
         this.logger = logger;
     }
 
+    /**
+     * Sets how often the previous version of a file is kept as a backup when
+     * it is saved. The backup is only replaced when it is older than this.
+     *
+     * @param interval The interval, in milliseconds. If zero or less, no backups are taken.
+     */
+    public static void setBackupInterval(long interval) {
+        backupInterval = interval;
+    }
+
     @Override public boolean has() {
         return Files.exists(this.file);
     }
@@ -77,18 +95,49 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
             throw getException("Configuration Node is virtual.");
         }
 
+        // Write the new data next to the file, make sure it's on the disk, then swap it in. At no point
+        // can the file be left half written, so we don't need to take a backup every time.
+        //
+        // The temporary file is written by the loader like any other file, rather than by Files.createTempFile,
+        // so that it (and so the file it replaces) gets the usual permissions, not ones only we can read.
+        boolean moved = false;
         try {
-            if (Files.exists(this.file)) {
-                Files.copy(this.file, this.backupFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(this.tempFile.getParent());
+            this.provider.apply(this.tempFile).save(node);
+            try (FileChannel channel = FileChannel.open(this.tempFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
             }
 
-            this.loader.save(node);
-        } catch (IOException e) {
-            if (Files.exists(this.backupFile)) {
-                Files.copy(this.backupFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+            backupIfDue();
+            try {
+                Files.move(this.tempFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(this.tempFile, this.file, StandardCopyOption.REPLACE_EXISTING);
             }
 
+            moved = true;
+        } catch (IOException e) {
             throw getException(e);
+        } finally {
+            if (!moved) {
+                try {
+                    Files.deleteIfExists(this.tempFile);
+                } catch (IOException e) {
+                    this.logger.warn("Could not delete " + this.tempFile.toAbsolutePath().toString() + ".");
+                }
+            }
+        }
+    }
+
+    private void backupIfDue() throws IOException {
+        long interval = backupInterval;
+        if (interval <= 0 || !Files.exists(this.file)) {
+            return;
+        }
+
+        if (!Files.exists(this.backupFile)
+                || Files.getLastModifiedTime(this.backupFile).toMillis() + interval <= System.currentTimeMillis()) {
+            Files.copy(this.file, this.backupFile, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
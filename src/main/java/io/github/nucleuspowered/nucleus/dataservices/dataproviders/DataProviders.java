@@ -17,15 +17,21 @@ import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.gson.GsonConfigurationLoader;
 import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
 import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.spongepowered.api.util.Tuple;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 public class DataProviders {
 
@@ -38,12 +44,33 @@ public class DataProviders {
     private final String userJson = "userdata%1$s%2$s%1$s%3$s.json";
     private final String worldJson = "worlddata%1$s%2$s%1$s%3$s.json";
 
+    private boolean useDatabase = false;
+    @Nullable private DatabaseDataStore databaseDataStore = null;
+
     public DataProviders(NucleusPlugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Sets whether user and world data is stored in the embedded database,
+     * rather than in individual JSON files. This must be set before any user
+     * or world data is loaded.
+     *
+     * @param useDatabase Whether to use the database.
+     */
+    public void setUseDatabase(boolean useDatabase) {
+        this.useDatabase = useDatabase;
+    }
+
+    public boolean isUsingDatabase() {
+        return this.useDatabase;
+    }
+
     public DataProvider<ConfigurationNode> getUserFileDataProviders(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
+        if (this.useDatabase) {
+            return getDatabaseDataProvider(DatabaseDataStore.Type.USER, uuid, create);
+        }
+
         try {
             Path p = getFile(this.userJson, uuid);
             if (create || doesUserFileExist(uuid)) {
@@ -57,6 +84,10 @@ public class DataProviders {
     }
 
     public boolean doesUserFileExist(UUID uuid) {
+        if (this.useDatabase) {
+            return doesDatabaseEntryExist(DatabaseDataStore.Type.USER, uuid);
+        }
+
         try {
             return Files.exists(getFile(this.userJson, uuid));
         } catch (Exception e) {
@@ -65,7 +96,10 @@ public class DataProviders {
     }
 
     public DataProvider<ConfigurationNode> getWorldFileDataProvider(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
+        if (this.useDatabase) {
+            return getDatabaseDataProvider(DatabaseDataStore.Type.WORLD, uuid, create);
+        }
+
         try {
             Path p = getFile(this.worldJson, uuid);
             if (create || doesWorldFileExist(uuid)) {
@@ -79,6 +113,10 @@ public class DataProviders {
     }
 
     public boolean doesWorldFileExist(UUID uuid) {
+        if (this.useDatabase) {
+            return doesDatabaseEntryExist(DatabaseDataStore.Type.WORLD, uuid);
+        }
+
         try {
             return Files.exists(getFile(this.worldJson, uuid));
         } catch (Exception e) {
@@ -109,6 +147,23 @@ public class DataProviders {
         }
     }
 
+    /**
+     * Gets the provider for the partial user cache that is written while the
+     * cache is being rebuilt, so that an interrupted rebuild can carry on
+     * where it left off. The provider points at the current data directory.
+     *
+     * @return The {@link DataProvider}
+     */
+    public DataProvider<UserCacheVersionNode> getUserCacheCheckpointDataProvider() {
+        try {
+            Path p = this.plugin.getDataPath().resolve("nucleususercache-rebuild.json");
+            return new ConfigurateDataProvider<>(this.ttucv,
+                    path -> new LazyConfigurationLoader<>(() -> getGsonBuilder().setPath(path).build()), UserCacheVersionNode::new, p,
+                    this.plugin.getLogger());
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
     public DataProvider.FileChanging<ConfigurationNode> getGeneralDataProvider() {
         // For now, just the Configurate one.
@@ -149,6 +204,76 @@ public class DataProviders {
         }
     }
 
+    /**
+     * Copies all user and world data from the JSON files into the embedded
+     * database, overwriting anything already in the database for the same
+     * user or world. The JSON files are left in place.
+     *
+     * @return A {@link Tuple} containing the number of entries copied, and the number that failed.
+     * @throws Exception if the database could not be opened.
+     */
+    public Tuple<Integer, Integer> migrateFilesToDatabase() throws Exception {
+        DatabaseDataStore store = getDatabaseDataStore();
+        int success = 0;
+        int failed = 0;
+        for (DatabaseDataStore.Type type : DatabaseDataStore.Type.values()) {
+            Path directory = this.plugin.getDataPath().resolve(type == DatabaseDataStore.Type.USER ? "userdata" : "worlddata");
+            if (Files.notExists(directory)) {
+                continue;
+            }
+
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(directory, 2)) {
+                files = stream.filter(x -> x.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+            }
+
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    UUID uuid = UUID.fromString(name.substring(0, name.length() - 5));
+                    ConfigurationNode node =
+                            new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), file, this.plugin.getLogger()).load();
+                    new DatabaseDataProvider(store, type, uuid, this::getGsonBuilder).save(node);
+                    success++;
+                } catch (Exception e) {
+                    this.plugin.getLogger().warn("Could not migrate " + file.toAbsolutePath().toString() + " to the database.", e);
+                    failed++;
+                }
+            }
+        }
+
+        return Tuple.of(success, failed);
+    }
+
+    @Nullable
+    private DataProvider<ConfigurationNode> getDatabaseDataProvider(DatabaseDataStore.Type type, UUID uuid, boolean create) {
+        try {
+            if (create || doesDatabaseEntryExist(type, uuid)) {
+                return new DatabaseDataProvider(getDatabaseDataStore(), type, uuid, this::getGsonBuilder);
+            }
+        } catch (Exception e) {
+            this.plugin.getLogger().error("Could not open the Nucleus database.", e);
+        }
+
+        return null;
+    }
+
+    private boolean doesDatabaseEntryExist(DatabaseDataStore.Type type, UUID uuid) {
+        try {
+            return getDatabaseDataStore().has(type, uuid);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private synchronized DatabaseDataStore getDatabaseDataStore() throws Exception {
+        if (this.databaseDataStore == null) {
+            this.databaseDataStore = new DatabaseDataStore(this.plugin.getDataPath().resolve("nucleusdata"));
+        }
+
+        return this.databaseDataStore;
+    }
+
     private Path getFile(String template, UUID uuid) throws Exception {
         String u = uuid.toString();
         String f = u.substring(0, 2);
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import static io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper.setOptions;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DataProvider} that stores a node as JSON in a {@link DatabaseDataStore}.
+ */
+public class DatabaseDataProvider implements DataProvider<ConfigurationNode> {
+
+    private final DatabaseDataStore store;
+    private final DatabaseDataStore.Type type;
+    private final UUID uuid;
+    private final Supplier<GsonConfigurationLoader.Builder> loaderBuilder;
+
+    DatabaseDataProvider(DatabaseDataStore store, DatabaseDataStore.Type type, UUID uuid,
+            Supplier<GsonConfigurationLoader.Builder> loaderBuilder) {
+        this.store = Preconditions.checkNotNull(store);
+        this.type = Preconditions.checkNotNull(type);
+        this.uuid = Preconditions.checkNotNull(uuid);
+        this.loaderBuilder = Preconditions.checkNotNull(loaderBuilder);
+    }
+
+    @Override public boolean has() {
+        return this.store.has(this.type, this.uuid);
+    }
+
+    @Override public ConfigurationNode load() throws Exception {
+        Optional<String> data = this.store.load(this.type, this.uuid);
+        GsonConfigurationLoader loader = this.loaderBuilder.get()
+                .setSource(() -> new BufferedReader(new StringReader(data.orElse("{}"))))
+                .build();
+        return loader.load(setOptions(loader.getDefaultOptions()));
+    }
+
+    @Override public void save(ConfigurationNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        if (info.isVirtual()) {
+            throw new IllegalStateException("The " + this.type.name().toLowerCase() + " data for " + this.uuid.toString()
+                    + " has not been saved.\nConfiguration Node is virtual.");
+        }
+
+        StringWriter writer = new StringWriter();
+        this.loaderBuilder.get().setSink(() -> new BufferedWriter(writer)).build().save(info);
+        this.store.save(this.type, this.uuid, writer.toString());
+    }
+
+    @Override public void delete() throws Exception {
+        this.store.delete(this.type, this.uuid);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.service.sql.SqlService;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+/**
+ * Stores serialised data nodes in a single embedded H2 database, rather
+ * than one file per user or world.
+ *
+ * <p>The set of stored keys is held in memory, so that checking whether
+ * data exists does not need to touch the disk.</p>
+ */
+public class DatabaseDataStore {
+
+    private static final String TABLE = "NUCLEUS_DATA";
+    private static final String CREATE = "CREATE TABLE IF NOT EXISTS " + TABLE
+            + " (TYPE VARCHAR(16) NOT NULL, ID VARCHAR(36) NOT NULL, DATA CLOB NOT NULL, PRIMARY KEY (TYPE, ID))";
+    private static final String SELECT_KEYS = "SELECT TYPE, ID FROM " + TABLE;
+    private static final String SELECT = "SELECT DATA FROM " + TABLE + " WHERE TYPE = ? AND ID = ?";
+    private static final String MERGE = "MERGE INTO " + TABLE + " (TYPE, ID, DATA) KEY (TYPE, ID) VALUES (?, ?, ?)";
+    private static final String DELETE = "DELETE FROM " + TABLE + " WHERE TYPE = ? AND ID = ?";
+
+    private final DataSource dataSource;
+    private final Map<Type, Set<UUID>> keys = new EnumMap<>(Type.class);
+
+    DatabaseDataStore(Path file) throws SQLException {
+        this.dataSource = Sponge.getServiceManager().provideUnchecked(SqlService.class)
+                .getDataSource(Nucleus.getNucleus(), "jdbc:h2:" + file.toAbsolutePath().toString());
+        for (Type type : Type.values()) {
+            this.keys.put(type, Sets.newConcurrentHashSet());
+        }
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE);
+            }
+
+            try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(SELECT_KEYS)) {
+                while (resultSet.next()) {
+                    Type.fromId(resultSet.getString(1)).ifPresent(x -> {
+                        try {
+                            this.keys.get(x).add(UUID.fromString(resultSet.getString(2)));
+                        } catch (IllegalArgumentException | SQLException e) {
+                            // ignored, not something we wrote.
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    public boolean has(Type type, UUID uuid) {
+        return this.keys.get(type).contains(uuid);
+    }
+
+    public Set<UUID> getKeys(Type type) {
+        return ImmutableSet.copyOf(this.keys.get(type));
+    }
+
+    public Optional<String> load(Type type, UUID uuid) throws SQLException {
+        if (!has(type, uuid)) {
+            return Optional.empty();
+        }
+
+        try (Connection connection = this.dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setString(1, type.id);
+            statement.setString(2, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return Optional.ofNullable(resultSet.getString(1));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public void save(Type type, UUID uuid, String data) throws SQLException {
+        Preconditions.checkNotNull(data);
+        try (Connection connection = this.dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(MERGE)) {
+            statement.setString(1, type.id);
+            statement.setString(2, uuid.toString());
+            statement.setString(3, data);
+            statement.executeUpdate();
+        }
+
+        this.keys.get(type).add(uuid);
+    }
+
+    public void delete(Type type, UUID uuid) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, type.id);
+            statement.setString(2, uuid.toString());
+            statement.executeUpdate();
+        }
+
+        this.keys.get(type).remove(uuid);
+    }
+
+    public enum Type {
+        USER("user"),
+        WORLD("world");
+
+        private final String id;
+
+        Type(String id) {
+            this.id = id;
+        }
+
+        private static Optional<Type> fromId(String id) {
+            for (Type type : values()) {
+                if (type.id.equals(id)) {
+                    return Optional.of(type);
+                }
+            }
+
+            return Optional.empty();
+        }
+    }
+}
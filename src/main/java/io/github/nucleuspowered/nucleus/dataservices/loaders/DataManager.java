@@ -11,15 +11,25 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.Service;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
+import io.github.nucleuspowered.nucleus.modules.core.config.DataCacheConfig;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -30,22 +40,39 @@ import javax.annotation.Nullable;
 
 public abstract class DataManager<I, P, S extends Service> {
 
+    private static final ExecutorService LOAD_EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+            new ThreadFactoryBuilder().setNameFormat("Nucleus Data Loader - %d").setDaemon(true).build());
+
+    // Expiry can't be turned off once the cache is built, so this stands in for never. Not
+    // Long.MAX_VALUE, so that nothing overflows when it is taken from the current time.
+    private static final long NO_EXPIRY_DAYS = 36500;
+
     private final Collection<I> bypassSave = Sets.newConcurrentHashSet();
     private final Predicate<I> fileExists;
     private final BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory;
     private final LoadingCache<I, S> cache;
+    @Nullable private DataCacheConfig cacheConfig;
+    private volatile boolean weighByDataSize = false;
 
     private Timing GENERAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing ACTUAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing SAVE_TIMINGS = TimingsDummy.DUMMY;
+    private Timing SAVE_SKIPPED_TIMINGS = TimingsDummy.DUMMY;
+    private final AtomicLong savesWritten = new AtomicLong();
+    private final AtomicLong savesSkipped = new AtomicLong();
     @Nullable private String name;
 
     DataManager(BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate) {
         this.dataProviderFactory = dataProviderFactory;
         this.fileExists = fileExistsPredicate;
+        // Built with both a weigher and an expiry, so that any settings can be applied to it later without replacing it.
         this.cache = Caffeine.newBuilder()
-                .maximumSize(500)
+                .recordStats()
                 .removalListener(new Removal())
+                .maximumWeight(new DataCacheConfig().getMaxEntries())
+                .weigher((I key, S value) -> this.weighByDataSize ? weigh(value) : 1)
+                .expireAfterAccess(NO_EXPIRY_DAYS, TimeUnit.DAYS)
                 .build(new Loader());
 
         try {
@@ -53,11 +80,58 @@ public abstract class DataManager<I, P, S extends Service> {
             this.GENERAL_LOAD_TIMINGS = Timings.of(plugin, this.getClass().getSimpleName() + " - General");
             this.ACTUAL_LOAD_TIMINGS = Timings.of(plugin, this.getClass().getSimpleName() + " - Loading");
             this.SAVE_TIMINGS = Timings.of(plugin, this.getClass().getSimpleName() + " - Saving");
+            this.SAVE_SKIPPED_TIMINGS = Timings.of(plugin, this.getClass().getSimpleName() + " - Saving (skipped, unchanged)");
         } catch (Exception e) {
             // ignored
         }
     }
 
+    /**
+     * Applies the supplied settings to the cache, if they have changed. The
+     * cache is changed in place, so nothing in it is lost or unloaded, and
+     * its statistics are kept.
+     *
+     * <p>When switching between weighing by entries and by data size, entries
+     * already in the cache keep their old weight until they are next loaded.</p>
+     *
+     * @param config The {@link DataCacheConfig}
+     */
+    public final synchronized void configureCache(DataCacheConfig config) {
+        if (config.equals(this.cacheConfig)) {
+            return;
+        }
+
+        this.cacheConfig = config;
+        this.weighByDataSize = config.isWeighByDataSize();
+        this.cache.policy().eviction().ifPresent(x -> x.setMaximum(config.isWeighByDataSize() ? config.getMaxWeight() : config.getMaxEntries()));
+        this.cache.policy().expireAfterAccess().ifPresent(x -> {
+            if (config.getExpireAfterAccess() > 0) {
+                x.setExpiresAfter(config.getExpireAfterAccess(), TimeUnit.MINUTES);
+            } else {
+                x.setExpiresAfter(NO_EXPIRY_DAYS, TimeUnit.DAYS);
+            }
+        });
+    }
+
+    /**
+     * Gets the weight of the service in the cache, if the cache is weighed
+     * by data size.
+     *
+     * @param service The service.
+     * @return The weight, must not be negative.
+     */
+    protected int weigh(S service) {
+        return 1;
+    }
+
+    public final CacheStats getCacheStats() {
+        return this.cache.stats();
+    }
+
+    public final long getCacheSize() {
+        return this.cache.estimatedSize();
+    }
+
     private String getClassName() {
         if (this.name == null) {
             this.name = getClass().getSimpleName();
@@ -75,7 +149,7 @@ public abstract class DataManager<I, P, S extends Service> {
                 return;
             }
 
-            if (value != null) {
+            if (value != null && shouldSave(value)) {
                 try {
                     DataManager.this.SAVE_TIMINGS.startTimingIfSync();
                     value.saveInternal();
@@ -142,6 +216,109 @@ public abstract class DataManager<I, P, S extends Service> {
         return this.cache.getAllPresent(keys);
     }
 
+    /**
+     * Gets the service for the key only if it is already loaded.
+     *
+     * @param key The key.
+     * @return The service, if loaded.
+     */
+    public final Optional<S> getIfLoaded(I key) {
+        return Optional.ofNullable(this.cache.getIfPresent(key));
+    }
+
+    /**
+     * Reads the stored data for the key directly from its {@link DataProvider},
+     * without creating a service or touching the cache. This is intended for
+     * bulk reads, such as rebuilding the user cache, that would otherwise push
+     * the data of online players out of the cache.
+     *
+     * @param key The key.
+     * @return The stored data, if there is any.
+     * @throws Exception if the data could not be read.
+     */
+    public final Optional<P> loadUncached(I key) throws Exception {
+        if (!this.fileExists.test(key)) {
+            return Optional.empty();
+        }
+
+        DataProvider<P> d = this.dataProviderFactory.apply(key, false);
+        if (d == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(d.load());
+    }
+
+    public final CompletableFuture<Optional<S>> getAsync(I key) {
+        return getAsync(key, true);
+    }
+
+    /**
+     * Gets the service for the supplied key. If it is not in the cache, it is
+     * loaded on a separate thread, so the calling thread is never blocked by
+     * a read from disk.
+     *
+     * @param key The key to get the service for.
+     * @param create Whether to create the service if there is no stored data.
+     * @return A {@link CompletableFuture} that completes with the service, if any.
+     */
+    public final CompletableFuture<Optional<S>> getAsync(I key, boolean create) {
+        S present = this.cache.getIfPresent(key);
+        if (present != null) {
+            return CompletableFuture.completedFuture(Optional.of(present));
+        }
+
+        return CompletableFuture.supplyAsync(() -> get(key, create), LOAD_EXECUTOR);
+    }
+
+    /**
+     * Gets the services for the supplied keys, loading any that are not in the
+     * cache in parallel on a separate pool of threads. Keys that do not have
+     * a service, or that could not be loaded, will not be in the returned map.
+     *
+     * <p>Use this rather than calling {@link #get(Object)} in a loop when
+     * many services, such as those of offline players, are needed at once.</p>
+     *
+     * @param keys The keys to get the services for.
+     * @return A {@link CompletableFuture} that completes with the services.
+     */
+    public final CompletableFuture<Map<I, S>> getAllAsync(Collection<I> keys) {
+        return getAllAsync(keys, true);
+    }
+
+    /**
+     * Gets the services for the supplied keys, as {@link #getAllAsync(Collection)}.
+     *
+     * @param keys The keys to get the services for.
+     * @param create Whether to create services for keys that have no stored data.
+     * @return A {@link CompletableFuture} that completes with the services.
+     */
+    public final CompletableFuture<Map<I, S>> getAllAsync(Collection<I> keys, boolean create) {
+        Map<I, S> present = this.cache.getAllPresent(keys);
+        if (present.keySet().containsAll(keys)) {
+            return CompletableFuture.completedFuture(present);
+        }
+
+        // Each load is a separate read, so start them all side by side. Nothing waits on them, the
+        // futures are only combined once they have all completed.
+        Map<I, CompletableFuture<Optional<S>>> loads = new HashMap<>();
+        for (I key : keys) {
+            if (!present.containsKey(key)) {
+                loads.put(key, getAsync(key, create).exceptionally(e -> {
+                    Nucleus.getNucleus().getLogger().error("[" + getClassName() + "] Could not load " + String.valueOf(key) + ".",
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    return Optional.empty();
+                }));
+            }
+        }
+
+        return CompletableFuture.allOf(loads.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Map<I, S> result = new HashMap<>(present);
+            loads.forEach((key, future) -> future.join().ifPresent(x -> result.put(key, x)));
+            return result;
+        });
+    }
+
     protected abstract boolean shouldNotExpire(I key);
 
     public abstract Optional<S> getNew(I data, DataProvider<P> dataProvider) throws Exception;
@@ -164,10 +341,45 @@ public abstract class DataManager<I, P, S extends Service> {
         try {
             this.SAVE_TIMINGS.startTimingIfSync();
             for (S s : this.cache.asMap().values()) {
-                s.save();
+                if (shouldSave(s)) {
+                    s.save();
+                }
             }
         } finally {
             this.SAVE_TIMINGS.stopTimingIfSync();
         }
     }
+
+    /**
+     * Gets the number of services that have been written to disk by the autosave
+     * or on removal from the cache.
+     *
+     * @return The number of saves.
+     */
+    public final long getSavesWritten() {
+        return this.savesWritten.get();
+    }
+
+    /**
+     * Gets the number of services that the autosave or cache removal did not
+     * write to disk because nothing had changed.
+     *
+     * @return The number of skipped saves.
+     */
+    public final long getSavesSkipped() {
+        return this.savesSkipped.get();
+    }
+
+    private boolean shouldSave(S service) {
+        if (service.isDirty()) {
+            this.savesWritten.incrementAndGet();
+            return true;
+        }
+
+        // Timings only records a count here, so that the skipped saves show up alongside the written ones.
+        this.SAVE_SKIPPED_TIMINGS.startTimingIfSync();
+        this.savesSkipped.incrementAndGet();
+        this.SAVE_SKIPPED_TIMINGS.stopTimingIfSync();
+        return false;
+    }
 }
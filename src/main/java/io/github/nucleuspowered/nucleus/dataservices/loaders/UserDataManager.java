@@ -24,8 +24,14 @@ import java.util.stream.Collectors;
 
 public class UserDataManager extends DataManager<UUID, ConfigurationNode, ModularUserService> {
 
-    public UserDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+    public UserDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist,
+            WriteBehindSaveQueue saveQueue) {
+        super((uuid, create) -> saveQueue.wrap(getSaveKey(uuid), dataProviderFactory.apply(uuid, create)),
+                fileExist.or(uuid -> saveQueue.isPending(getSaveKey(uuid))));
+    }
+
+    private static String getSaveKey(UUID uuid) {
+        return "userdata/" + uuid.toString();
     }
 
     public ModularUserService getUnchecked(UUID user) {
@@ -44,6 +50,11 @@ public class UserDataManager extends DataManager<UUID, ConfigurationNode, Modula
         return get(user.getUniqueId(), create);
     }
 
+    @Override
+    protected int weigh(ModularUserService service) {
+        return service.getApproximateSize();
+    }
+
     @Override
     protected boolean shouldNotExpire(UUID key) {
         return Sponge.getServer().getPlayer(key).isPresent();
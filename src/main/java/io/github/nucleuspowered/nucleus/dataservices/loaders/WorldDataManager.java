@@ -18,8 +18,19 @@ import java.util.function.Predicate;
 
 public class WorldDataManager extends DataManager<UUID, ConfigurationNode, ModularWorldService> {
 
-    public WorldDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+    public WorldDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist,
+            WriteBehindSaveQueue saveQueue) {
+        super((uuid, create) -> saveQueue.wrap(getSaveKey(uuid), dataProviderFactory.apply(uuid, create)),
+                fileExist.or(uuid -> saveQueue.isPending(getSaveKey(uuid))));
+    }
+
+    private static String getSaveKey(UUID uuid) {
+        return "worlddata/" + uuid.toString();
+    }
+
+    @Override
+    protected int weigh(ModularWorldService service) {
+        return service.getApproximateSize();
     }
 
     @Override
@@ -0,0 +1,220 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Takes saves of {@link ConfigurationNode} backed data off the calling thread.
+ *
+ * <p>A copy of the node is taken when the save is requested, and is written
+ * by a dedicated thread no later than the configured maximum delay after the
+ * first unwritten save for that key. Saves requested for a key that is
+ * already waiting replace the waiting copy, rather than causing a second
+ * write.</p>
+ *
+ * <p>Writes are locked per key, so flushing one key before a load only waits
+ * for a write of that key, not for writes of anything else.</p>
+ */
+public class WriteBehindSaveQueue {
+
+    private final Map<Object, PendingSave> pending = new ConcurrentHashMap<>();
+    private final Striped<Lock> writeLocks = Striped.lock(64);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Nucleus Data Writer").setDaemon(true).build());
+
+    private volatile long maxDelay = 1000;
+    private volatile boolean isShutdown = false;
+
+    /**
+     * Sets the maximum time, in milliseconds, between a save being requested
+     * and it being written. If zero or less, saves will be written on the
+     * calling thread.
+     *
+     * @param maxDelay The delay, in milliseconds.
+     */
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Wraps the supplied {@link DataProvider} so that its saves go through
+     * this queue, and its loads see any save that has not yet been written.
+     *
+     * @param key The key that identifies the data the provider stores.
+     * @param provider The {@link DataProvider}, may be null.
+     * @return The wrapped provider, or null if the provider was null.
+     */
+    @Nullable
+    public DataProvider<ConfigurationNode> wrap(Object key, @Nullable DataProvider<ConfigurationNode> provider) {
+        if (provider == null) {
+            return null;
+        }
+
+        return new WriteBehindDataProvider(key, provider);
+    }
+
+    /**
+     * Gets whether there is a save for the given key that has not been
+     * written yet.
+     *
+     * @param key The key.
+     * @return <code>true</code> if so.
+     */
+    public boolean isPending(Object key) {
+        return this.pending.containsKey(key);
+    }
+
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Writes the waiting save for the key, if any, on the calling thread.
+     *
+     * @param key The key.
+     */
+    public void flush(Object key) {
+        write(key);
+    }
+
+    /**
+     * Writes all waiting saves on the calling thread.
+     */
+    public void flushAll() {
+        for (Object key : this.pending.keySet()) {
+            write(key);
+        }
+    }
+
+    /**
+     * Writes all waiting saves and stops the writer thread. Any save requested
+     * after this will be written on the calling thread.
+     */
+    public void shutdown() {
+        this.isShutdown = true;
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushAll();
+    }
+
+    private void enqueue(Object key, DataProvider<ConfigurationNode> provider, ConfigurationNode node) throws Exception {
+        long delay = this.maxDelay;
+        if (delay <= 0 || this.isShutdown) {
+            Lock lock = this.writeLocks.get(key);
+            lock.lock();
+            try {
+                this.pending.remove(key);
+                provider.save(node);
+            } finally {
+                lock.unlock();
+            }
+
+            return;
+        }
+
+        // Copy on this thread, the original will continue to be modified.
+        PendingSave save = new PendingSave(provider, node.copy());
+        if (this.pending.put(key, save) == null) {
+            // First save for this key since it was last written, so it needs scheduling. Later saves
+            // will just replace the node, and be written when this runs.
+            this.executor.schedule(() -> write(key), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancel(Object key) {
+        Lock lock = this.writeLocks.get(key);
+        lock.lock();
+        try {
+            this.pending.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Object key) {
+        // Removing under the lock means that writes for the same key can never overtake each other.
+        Lock lock = this.writeLocks.get(key);
+        lock.lock();
+        try {
+            PendingSave save = this.pending.remove(key);
+            if (save == null) {
+                return;
+            }
+
+            try {
+                save.provider.save(save.node);
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().error("Could not save " + String.valueOf(key) + ", will try again later.", e);
+                if (this.pending.putIfAbsent(key, save) == null && !this.isShutdown) {
+                    this.executor.schedule(() -> write(key), Math.max(this.maxDelay, 1000), TimeUnit.MILLISECONDS);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class PendingSave {
+
+        private final DataProvider<ConfigurationNode> provider;
+        private final ConfigurationNode node;
+
+        private PendingSave(DataProvider<ConfigurationNode> provider, ConfigurationNode node) {
+            this.provider = provider;
+            this.node = node;
+        }
+    }
+
+    private class WriteBehindDataProvider implements DataProvider<ConfigurationNode> {
+
+        private final Object key;
+        private final DataProvider<ConfigurationNode> provider;
+
+        private WriteBehindDataProvider(Object key, DataProvider<ConfigurationNode> provider) {
+            this.key = Preconditions.checkNotNull(key);
+            this.provider = Preconditions.checkNotNull(provider);
+        }
+
+        @Override public boolean has() {
+            return isPending(this.key) || this.provider.has();
+        }
+
+        @Override public ConfigurationNode load() throws Exception {
+            // Make sure we don't read something older than what we've been asked to save.
+            flush(this.key);
+            return this.provider.load();
+        }
+
+        @Override public void save(ConfigurationNode info) throws Exception {
+            Preconditions.checkNotNull(info);
+            enqueue(this.key, this.provider, info);
+        }
+
+        @Override public void delete() throws Exception {
+            cancel(this.key);
+            this.provider.delete();
+        }
+    }
+}
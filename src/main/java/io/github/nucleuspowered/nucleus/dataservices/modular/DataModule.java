@@ -5,18 +5,21 @@
 package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -29,16 +32,16 @@ import javax.annotation.concurrent.GuardedBy;
  */
 public abstract class DataModule<S extends ModularDataService<S>> {
 
-    private static final Map<Class<? extends DataModule<?>>, List<FieldData>> fieldData = Maps.newHashMap();
-    private static final Object lock = new Object();
+    private static final Map<Class<? extends DataModule<?>>, List<FieldData>> fieldData = new ConcurrentHashMap<>();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, DataModule.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, DataModule.class, Object.class);
 
     private final List<FieldData> data;
     private final Object lockingObject = new Object();
+    private volatile boolean dirty = false;
 
     @SuppressWarnings("unchecked") protected DataModule() {
-        synchronized (lock) {
-            this.data = fieldData.computeIfAbsent((Class<? extends DataModule<?>>) this.getClass(), this::init);
-        }
+        this.data = fieldData.computeIfAbsent((Class<? extends DataModule<?>>) this.getClass(), DataModule::init);
     }
 
     @GuardedBy("lockingObject")
@@ -48,12 +51,12 @@ public abstract class DataModule<S extends ModularDataService<S>> {
                 try {
                     Optional<?> value = getValue(d.clazz, d.path, node);
                     if (value.isPresent()) {
-                        d.field.set(this, value.get());
+                        d.setter.invokeExact((DataModule<?>) this, (Object) value.get());
                     }
-                } catch (IllegalArgumentException e) {
+                } catch (IllegalArgumentException | ClassCastException e) {
                     Nucleus.getNucleus().getLogger().warn("Could not set field data for " + d.field.getName() + " "
                             + "(data key " + d.path + ") - falling back to default.");
-                } catch (Exception e) {
+                } catch (Throwable e) {
                     e.printStackTrace();
                 }
             }
@@ -63,6 +66,23 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
+    /**
+     * Marks this module as having changed since it was last saved. Any method
+     * that changes a {@link DataKey} field must call this, else the change will
+     * not be picked up by the autosave.
+     */
+    protected final void markDirty() {
+        this.dirty = true;
+    }
+
+    final boolean isDirty() {
+        return this.dirty;
+    }
+
+    final void clearDirty() {
+        this.dirty = false;
+    }
+
     /**
      * Migrate data
      */
@@ -84,7 +104,7 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         synchronized (this.lockingObject) {
             for (FieldData d : this.data) {
                 try {
-                    saveFieldData(d.clazz, d.field, d.path, node);
+                    saveFieldData(d, node);
                 } catch (Exception e) {
                     Nucleus.getNucleus().getLogger().error("Could not save module " + d.clazz.getType().getTypeName(), e);
                 }
@@ -93,16 +113,16 @@ public abstract class DataModule<S extends ModularDataService<S>> {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> void saveFieldData(TypeToken<T> typeToken, Field field, String path, ConfigurationNode node) throws ObjectMappingException {
+    private <T> void saveFieldData(FieldData d, ConfigurationNode node) throws ObjectMappingException {
         T t;
         try {
-            t = (T)field.get(this);
-        } catch (IllegalAccessException e) {
-            Nucleus.getNucleus().getLogger().error("Could not get data from " + getClass().getSimpleName() + ": " + field.getName(), e);
+            t = (T) (Object) d.getter.invokeExact((DataModule<?>) this);
+        } catch (Throwable e) {
+            Nucleus.getNucleus().getLogger().error("Could not get data from " + getClass().getSimpleName() + ": " + d.field.getName(), e);
             t = null;
         }
 
-        saveNode(typeToken, t, path, node);
+        saveNode((TypeToken<T>) d.clazz, t, d.path, node);
     }
 
     protected <T> void saveNode(TypeToken<T> typeToken, T value, String path, ConfigurationNode node) throws ObjectMappingException {
@@ -114,14 +134,15 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
-    private List<FieldData> init(Class<? extends DataModule<?>> clazz) {
+    private static List<FieldData> init(Class<? extends DataModule<?>> clazz) {
         // Get the fields.
         List<Field> fields = Arrays.stream(clazz.getDeclaredFields())
             .filter(x -> x.isAnnotationPresent(DataKey.class))
             .collect(Collectors.toList());
 
         fields.forEach(x -> x.setAccessible(true));
-        return fields.stream().map(x -> new FieldData(x.getAnnotation(DataKey.class).value(), TypeToken.of(x.getGenericType()), x)).collect(Collectors.toList());
+        return fields.stream().map(x -> new FieldData(x.getAnnotation(DataKey.class).value(), TypeToken.of(x.getGenericType()), x))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -149,10 +170,21 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         private final TypeToken<?> clazz;
         private final Field field;
 
+        // Bound once per module class, so that each load and save doesn't go through reflective access checks.
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
         private FieldData(String path, TypeToken<?> clazz, Field field) {
             this.path = path;
             this.clazz = clazz;
             this.field = field;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not bind data key " + path + " on " + field.getDeclaringClass().getName(), e);
+            }
         }
     }
 }
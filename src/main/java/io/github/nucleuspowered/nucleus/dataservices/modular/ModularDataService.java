@@ -6,7 +6,7 @@ package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableList;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
@@ -14,6 +14,7 @@ import ninja.leaping.configurate.ConfigurationNode;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -28,6 +29,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     private final Timing loadTransientTimings = Timings.of(Nucleus.getNucleus(), "Transient Modules - Loading");
 
     private final Object lockingObject = new Object();
+    private volatile boolean dirty = false;
 
     ModularDataService(DataProvider<ConfigurationNode> dataProvider) {
         super(dataProvider);
@@ -91,7 +93,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
                 }
 
                 dm.loadFrom(this.data);
-                set(dm);
+                this.cached.put(dm.getClass(), dm);
                 return dm;
             } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException | InstantiationException e) {
                 e.printStackTrace();
@@ -107,6 +109,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     public <T extends DataModule<S>> void set(T dataModule) {
         synchronized (this.lockingObject) {
             this.cached.put(dataModule.getClass(), dataModule);
+            this.dirty = true;
         }
     }
 
@@ -117,6 +120,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     @Override public void loadInternal() throws Exception {
         super.loadInternal();
         this.cached.clear(); // Only clear if no exception was caught.
+        this.dirty = false;
         int version = this.data.getNode(VERSION_PATH).getInt(-1);
         migrate();
         int newVersion = this.data.getNode(VERSION_PATH).getInt(-1);
@@ -131,14 +135,73 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
             // If there is nothing in the cache, don't save (because we don't need to).
             if (this.data != null && (!this.cached.isEmpty() || !(this.data.isVirtual() || this.data.getValue() == null))) {
-                ImmutableMap.copyOf(this.cached).values().forEach(x -> x.saveTo(this.data));
-                super.saveInternal();
+                // Clear the flags first, so that anything changed while we save gets picked up next time.
+                Collection<DataModule<S>> modules;
+                synchronized (this.lockingObject) {
+                    modules = ImmutableList.copyOf(this.cached.values());
+                    this.dirty = false;
+                }
+
+                modules.forEach(DataModule::clearDirty);
+                try {
+                    modules.forEach(x -> x.saveTo(this.data));
+                    super.saveInternal();
+                } catch (Exception e) {
+                    this.dirty = true;
+                    throw e;
+                }
             }
         } finally {
             this.saveTimings.stopTimingIfSync();
         }
     }
 
+    @Override public boolean isDirty() {
+        if (this.dirty) {
+            return true;
+        }
+
+        synchronized (this.lockingObject) {
+            for (DataModule<S> module : this.cached.values()) {
+                if (module.isDirty()) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the approximate size of the stored data, as the number of values
+     * held in the underlying node.
+     *
+     * @return The approximate size, at least one.
+     */
+    public int getApproximateSize() {
+        return this.data == null ? 1 : Math.max(1, countValues(this.data));
+    }
+
+    private static int countValues(ConfigurationNode node) {
+        if (node.hasMapChildren()) {
+            int count = 0;
+            for (ConfigurationNode child : node.getChildrenMap().values()) {
+                count += countValues(child);
+            }
+
+            return count;
+        } else if (node.hasListChildren()) {
+            int count = 0;
+            for (ConfigurationNode child : node.getChildrenList()) {
+                count += countValues(child);
+            }
+
+            return count;
+        }
+
+        return node.isVirtual() ? 0 : 1;
+    }
+
     public void migrate() {
         // noop
     }
@@ -1063,7 +1063,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
                     @Override
                     public void accept(Task task) {
                         src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
-                        this.plugin.getWarmupManager().removeWarmup(src.getUniqueId());
+                        this.plugin.getWarmupManager().removeCompletedWarmup(src.getUniqueId(), task);
                         onExecute((T) src, args, cause);
                     }
                 }).name("Command Warmup - " + src.getName());
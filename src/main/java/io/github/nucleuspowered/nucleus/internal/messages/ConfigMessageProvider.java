@@ -45,5 +45,6 @@ public class ConfigMessageProvider extends ResourceMessageProvider {
 
     public void reset(List<String> keys) throws IOException {
         this.mc.fixMistmatched(keys);
+        clearCompiledMessages();
     }
 }
@@ -14,24 +14,31 @@ import org.spongepowered.api.text.TextRepresentable;
 import org.spongepowered.api.text.TextTemplate;
 import org.spongepowered.api.text.translation.Translatable;
 
+import java.text.Format;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public abstract class MessageProvider {
 
     private final static Pattern STRING_REPLACER = Pattern.compile("\\{+[^0-9]+}+");
+    private final static Pattern ARGUMENT = Pattern.compile("\\{([\\d]+)}");
     public abstract Locale getLocale();
 
     public abstract Optional<String> getMessageFromKey(String key);
-    private final Map<String, TextTemplate> textTemplateMap = Maps.newHashMap();
+    private final Map<String, TextTemplate> textTemplateMap = new ConcurrentHashMap<>();
+    private final Map<String, CompiledMessage> compiledMessages = new ConcurrentHashMap<>();
 
     public Locale setLocale(String string) {
         return setLocale(Locale.forLanguageTag(string));
@@ -39,18 +46,31 @@ public abstract class MessageProvider {
 
     public abstract Locale setLocale(Locale locale);
 
+    /**
+     * Clears the compiled forms of the messages, which must be done whenever
+     * the messages this provider returns may have changed.
+     */
+    protected void clearCompiledMessages() {
+        this.compiledMessages.clear();
+        this.textTemplateMap.clear();
+    }
+
     public String getMessageWithFormat(String key, String... substitutions) {
         try {
-            String valueReplacement = STRING_REPLACER.matcher(getMessageFromKey(key)
-                    .orElseThrow(() -> new IllegalArgumentException("The key " + key + " does not exist!"))
-                    .replaceAll("'", "''")
-            ).replaceAll("'$0'");
-            return MessageFormat.format(valueReplacement, (Object[]) substitutions);
+            return this.compiledMessages.computeIfAbsent(key, this::compile).format(substitutions);
         } catch (NoSuchElementException e) {
             throw new IllegalArgumentException("The message key " + key + " does not exist!");
         }
     }
 
+    private CompiledMessage compile(String key) {
+        String valueReplacement = STRING_REPLACER.matcher(getMessageFromKey(key)
+                .orElseThrow(() -> new IllegalArgumentException("The key " + key + " does not exist!"))
+                .replaceAll("'", "''")
+        ).replaceAll("'$0'");
+        return CompiledMessage.of(valueReplacement);
+    }
+
     public final Text getTextMessageWithFormat(String key, Object... substitutions) {
         return getTextMessageWithTextFormat(key,
                 Arrays.stream(substitutions).map(x -> {
@@ -91,14 +111,14 @@ public abstract class MessageProvider {
 
     private TextTemplate templateCreator(String string) {
         // regex!
-        Matcher mat = Pattern.compile("\\{([\\d]+)}").matcher(string);
+        Matcher mat = ARGUMENT.matcher(string);
         List<Integer> map = Lists.newArrayList();
 
         while (mat.find()) {
             map.add(Integer.parseInt(mat.group(1)));
         }
 
-        String[] s = string.split("\\{([\\d]+)}");
+        String[] s = ARGUMENT.split(string);
 
         List<Object> objects = Lists.newArrayList();
         Text t = TextParsingUtils.oldLegacy(s[0]);
@@ -118,4 +138,83 @@ public abstract class MessageProvider {
 
         return TextTemplate.of((Object[])objects.toArray(new Object[0]));
     }
+
+    /**
+     * A message that has been run through {@link MessageFormat} once, and
+     * split into the literal text and the arguments that go between it.
+     */
+    private static final class CompiledMessage {
+
+        private static final char MARKER = '\u0000';
+
+        private final String[] literals;
+        private final int[] arguments;
+
+        // Set if the message can't be split, in which case it is formatted each time.
+        @Nullable private final MessageFormat format;
+
+        private CompiledMessage(String[] literals, int[] arguments, @Nullable MessageFormat format) {
+            this.literals = literals;
+            this.arguments = arguments;
+            this.format = format;
+        }
+
+        private static CompiledMessage of(String pattern) {
+            MessageFormat messageFormat = new MessageFormat(pattern);
+            Format[] formats = messageFormat.getFormatsByArgumentIndex();
+            if (pattern.indexOf(MARKER) > -1 || Arrays.stream(formats).anyMatch(Objects::nonNull)) {
+                return new CompiledMessage(new String[0], new int[0], messageFormat);
+            }
+
+            // Format once with markers in place of the arguments, so that MessageFormat deals with quoting, then
+            // split on the markers.
+            Object[] markers = new Object[formats.length];
+            for (int i = 0; i < markers.length; i++) {
+                markers[i] = MARKER + String.valueOf(i) + MARKER;
+            }
+
+            String formatted = messageFormat.format(markers);
+            List<String> literals = Lists.newArrayList();
+            List<Integer> arguments = Lists.newArrayList();
+            int start = 0;
+            int marker = formatted.indexOf(MARKER);
+            while (marker > -1) {
+                int end = formatted.indexOf(MARKER, marker + 1);
+                literals.add(formatted.substring(start, marker));
+                arguments.add(Integer.parseInt(formatted.substring(marker + 1, end)));
+                start = end + 1;
+                marker = formatted.indexOf(MARKER, start);
+            }
+
+            literals.add(formatted.substring(start));
+            return new CompiledMessage(literals.toArray(new String[0]), arguments.stream().mapToInt(Integer::intValue).toArray(), null);
+        }
+
+        private String format(String... substitutions) {
+            if (this.format != null) {
+                synchronized (this.format) {
+                    return this.format.format(substitutions);
+                }
+            }
+
+            if (this.arguments.length == 0) {
+                return this.literals[0];
+            }
+
+            StringBuilder sb = new StringBuilder(this.literals[0]);
+            for (int i = 0; i < this.arguments.length; i++) {
+                int argument = this.arguments[i];
+                if (argument < substitutions.length) {
+                    sb.append(substitutions[argument]);
+                } else {
+                    // As MessageFormat does when there is no argument.
+                    sb.append('{').append(argument).append('}');
+                }
+
+                sb.append(this.literals[i + 1]);
+            }
+
+            return sb.toString();
+        }
+    }
 }
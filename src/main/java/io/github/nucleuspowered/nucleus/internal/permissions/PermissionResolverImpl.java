@@ -4,7 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.internal.permissions;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.services.PermissionResolver;
@@ -12,6 +15,12 @@ import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.util.PrettyPrinter;
 import org.slf4j.event.Level;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.util.Tristate;
@@ -19,7 +28,10 @@ import org.spongepowered.api.util.Tristate;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -36,6 +48,16 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
 
     private final Map<String, String> permissions = new HashMap<>();
     private final Map<Predicate<String>, String> permissionPredicates = new HashMap<>();
+    private final Map<String, String> permissionPrefixes = new HashMap<>();
+
+    // Decisions for each subject, keyed on the collection and identifier of the subject. Cleared when subject data changes,
+    // with a short expiry in case a permission plugin doesn't tell us.
+    private final Cache<String, Cache<Decision, Boolean>> decisionCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
     private final Set<String> failedChecks = new HashSet<>();
 
@@ -44,6 +66,7 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
     public void registerPermissions() {
         Preconditions.checkState(!this.init);
         this.init = true;
+        Sponge.getEventManager().registerListeners(Nucleus.getNucleus(), this);
         PermissionService ps = Sponge.getServiceManager().provide(PermissionService.class).orElse(null);
         boolean isPresent = ps != null;
 
@@ -76,8 +99,49 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
         }
     }
 
+    /**
+     * Registers a "parent" permission for all permissions that start with the
+     * supplied prefix, such as <code>nucleus.warps.</code>. These are looked up
+     * directly, rather than tested one by one like permission predicates.
+     *
+     * @param prefix The prefix.
+     * @param level The {@link SuggestedLevel} that determines the parent permission.
+     */
+    public void registerPermissionPrefix(String prefix, SuggestedLevel level) {
+        String l = level.getPermission();
+        if (l != null) {
+            this.permissionPrefixes.put(prefix.toLowerCase(), l);
+        }
+    }
+
+    public long getCacheHits() {
+        return this.hits.get();
+    }
+
+    public long getCacheMisses() {
+        return this.misses.get();
+    }
+
     @Override
     public boolean hasPermission(Subject subject, String permission) {
+        Cache<Decision, Boolean> decisions = this.decisionCache.get(getSubjectKey(subject), k -> Caffeine.newBuilder()
+                .maximumSize(256)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build());
+        Decision decision = new Decision(permission, subject.getActiveContexts());
+        Boolean result = decisions.getIfPresent(decision);
+        if (result != null) {
+            this.hits.incrementAndGet();
+            return result;
+        }
+
+        this.misses.incrementAndGet();
+        boolean r = hasPermissionInternal(subject, permission);
+        decisions.put(new Decision(permission, ImmutableSet.copyOf(decision.contexts)), r);
+        return r;
+    }
+
+    private boolean hasPermissionInternal(Subject subject, String permission) {
         if (permission.startsWith("nucleus")) {
             Tristate tristate = subject.getPermissionValue(subject.getActiveContexts(), permission);
             if (tristate == Tristate.UNDEFINED) {
@@ -86,6 +150,11 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
                     return subject.hasPermission(result);
                 }
 
+                result = getPrefixParent(permission);
+                if (result != null) {
+                    return subject.hasPermission(result); // check the "parent" perm
+                }
+
                 for (Map.Entry<Predicate<String>, String> entry : this.permissionPredicates.entrySet()) {
                     if (entry.getKey().test(permission)) {
                         return subject.hasPermission(entry.getValue()); // check the "parent" perm
@@ -114,12 +183,83 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
         return subject.hasPermission(permission);
     }
 
+    @Nullable
+    private String getPrefixParent(String permission) {
+        if (this.permissionPrefixes.isEmpty()) {
+            return null;
+        }
+
+        String lower = permission.toLowerCase();
+        int index = lower.indexOf('.');
+        while (index != -1) {
+            String result = this.permissionPrefixes.get(lower.substring(0, index + 1));
+            if (result != null) {
+                return result;
+            }
+
+            index = lower.indexOf('.', index + 1);
+        }
+
+        return null;
+    }
+
+    private static String getSubjectKey(Subject subject) {
+        return subject.getContainingCollection().getIdentifier() + "/" + subject.getIdentifier();
+    }
+
+    @Listener
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        Subject subject = event.getUpdatedData().getSubject();
+        if (PermissionService.SUBJECTS_USER.equals(subject.getContainingCollection().getIdentifier())) {
+            this.decisionCache.invalidate(getSubjectKey(subject));
+        } else {
+            // Groups and defaults can affect anyone.
+            this.decisionCache.invalidateAll();
+        }
+    }
+
+    @Listener
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.decisionCache.invalidate(getSubjectKey(player));
+    }
+
     @Override
     public void onReload() throws Exception {
+        this.decisionCache.invalidateAll();
         this.reportFailedChecks = Nucleus.getNucleus().getInternalServiceManager()
                 .getService(CoreConfigAdapter.class)
                 .map(x -> x.getNodeOrDefault().isPrintWhenPermissionIsntRegistered())
                 .orElse(true);
 
     }
+
+    private static final class Decision {
+
+        private final String permission;
+        private final Set<Context> contexts;
+        private final int hashCode;
+
+        private Decision(String permission, Set<Context> contexts) {
+            this.permission = permission;
+            this.contexts = contexts;
+            this.hashCode = Objects.hash(permission, contexts);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Decision decision = (Decision) o;
+            return this.permission.equals(decision.permission) && this.contexts.equals(decision.contexts);
+        }
+
+        @Override public int hashCode() {
+            return this.hashCode;
+        }
+    }
 }
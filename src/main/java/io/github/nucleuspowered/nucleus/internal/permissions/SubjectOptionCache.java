@@ -0,0 +1,131 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.permissions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches the result of permission option lookups for online players, after
+ * any conversion to the required type, so that options that are checked
+ * often are not looked up and parsed on every check.
+ *
+ * <p>A player's options are dropped when their subject data changes, and
+ * all options are dropped when any other subject changes.</p>
+ */
+public final class SubjectOptionCache implements Reloadable {
+
+    public final static SubjectOptionCache INSTANCE = new SubjectOptionCache();
+
+    private final Cache<UUID, Cache<Key, Optional<?>>> cache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private SubjectOptionCache() {}
+
+    /**
+     * Gets the cached option value for the player, or looks it up and caches it.
+     *
+     * @param player The {@link Player}
+     * @param type An identifier for the conversion that the lookup performs.
+     * @param options The option keys.
+     * @param lookup The lookup to perform if the value is not cached.
+     * @param <T> The type of value.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(Player player, String type, String[] options, Supplier<Optional<T>> lookup) {
+        Cache<Key, Optional<?>> optionCache = this.cache.get(player.getUniqueId(), k -> Caffeine.newBuilder()
+                .maximumSize(128)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build());
+        Set<Context> contexts = player.getActiveContexts();
+        Optional<?> result = optionCache.getIfPresent(new Key(type, Arrays.asList(options), contexts));
+        if (result == null) {
+            result = lookup.get();
+            optionCache.put(new Key(type, ImmutableList.copyOf(options), ImmutableSet.copyOf(contexts)), result);
+        }
+
+        return (Optional<T>) result;
+    }
+
+    @Listener
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        Subject subject = event.getUpdatedData().getSubject();
+        if (PermissionService.SUBJECTS_USER.equals(subject.getContainingCollection().getIdentifier())) {
+            try {
+                this.cache.invalidate(UUID.fromString(subject.getIdentifier()));
+                return;
+            } catch (IllegalArgumentException e) {
+                // fall through
+            }
+        }
+
+        this.cache.invalidateAll();
+    }
+
+    @Listener
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.cache.invalidate(player.getUniqueId());
+    }
+
+    @Override
+    public void onReload() {
+        this.cache.invalidateAll();
+    }
+
+    private static final class Key {
+
+        private final String type;
+        private final List<String> options;
+        private final Set<Context> contexts;
+        private final int hashCode;
+
+        private Key(String type, List<String> options, Set<Context> contexts) {
+            this.type = type;
+            this.options = options;
+            this.contexts = contexts;
+            this.hashCode = Objects.hash(type, options, contexts);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.type.equals(key.type) && this.options.equals(key.options) && this.contexts.equals(key.contexts);
+        }
+
+        @Override public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.Nucleus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Runs a callback when something expires, such as a timed mute or a
+ * teleport request.
+ *
+ * <p>Entries are held in a hashed timer wheel with one second slots, so
+ * each {@link #tick()} only looks at the entries in the slots that have
+ * passed, rather than everything that might expire. Entries due more than
+ * one turn of the wheel away stay in their slot until their turn comes
+ * round.</p>
+ *
+ * <p>Each entry is keyed by a type and a {@link UUID}. Scheduling an entry
+ * replaces any entry with the same key. Callbacks are run on the thread
+ * that calls {@link #tick()}, which is asynchronous.</p>
+ */
+public class ExpiryService {
+
+    private static final long SLOT_MILLIS = 1000;
+    private static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    private final Object lock = new Object();
+    private final LongSupplier clock;
+
+    @GuardedBy("lock")
+    private final List<Set<Entry>> wheel = new ArrayList<>(SLOTS);
+
+    @GuardedBy("lock")
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    @GuardedBy("lock")
+    private long lastTick;
+
+    public ExpiryService() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates the service with the supplied clock.
+     *
+     * @param clock Supplies the current time, in milliseconds since the epoch.
+     */
+    public ExpiryService(LongSupplier clock) {
+        this.clock = Preconditions.checkNotNull(clock);
+        this.lastTick = currentTick();
+        for (int i = 0; i < SLOTS; i++) {
+            this.wheel.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Schedules a callback for when something expires.
+     *
+     * @param type The type of entry, such as "mute".
+     * @param id The {@link UUID} the entry is for.
+     * @param expiry When the entry expires. If this is in the past, it will expire on the next tick.
+     * @param onExpiry The callback.
+     */
+    public void schedule(String type, UUID id, Instant expiry, Runnable onExpiry) {
+        Key key = new Key(Preconditions.checkNotNull(type), Preconditions.checkNotNull(id));
+        Preconditions.checkNotNull(onExpiry);
+
+        // Round up, so the callback never runs before the expiry time.
+        long tick = Math.floorDiv(expiry.toEpochMilli() + SLOT_MILLIS - 1, SLOT_MILLIS);
+        synchronized (this.lock) {
+            Entry entry = new Entry(key, Math.max(tick, this.lastTick + 1), onExpiry);
+            removeEntry(this.entries.put(key, entry));
+            this.wheel.get((int) (entry.tick & MASK)).add(entry);
+        }
+    }
+
+    /**
+     * Removes an entry, so its callback won't run.
+     *
+     * @param type The type of entry.
+     * @param id The {@link UUID} the entry is for.
+     * @return <code>true</code> if there was an entry to remove.
+     */
+    public boolean cancel(String type, UUID id) {
+        synchronized (this.lock) {
+            return removeEntry(this.entries.remove(new Key(type, id)));
+        }
+    }
+
+    /**
+     * Gets the number of entries that have not yet expired.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (this.lock) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Runs the callbacks for the entries that have expired since the last
+     * tick.
+     */
+    public void tick() {
+        long now = currentTick();
+        List<Entry> expired = new ArrayList<>();
+        synchronized (this.lock) {
+            // If we've fallen more than a turn behind, each slot only needs to be looked at once.
+            long from = Math.max(this.lastTick + 1, now - SLOTS + 1);
+            for (long tick = from; tick <= now; tick++) {
+                Iterator<Entry> iterator = this.wheel.get((int) (tick & MASK)).iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.tick <= now) {
+                        iterator.remove();
+                        this.entries.remove(entry.key);
+                        expired.add(entry);
+                    }
+                }
+            }
+
+            this.lastTick = Math.max(this.lastTick, now);
+        }
+
+        for (Entry entry : expired) {
+            try {
+                entry.onExpiry.run();
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().error("Could not run the expiry for " + entry.key.type + " " + entry.key.id, e);
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean removeEntry(@Nullable Entry entry) {
+        return entry != null && this.wheel.get((int) (entry.tick & MASK)).remove(entry);
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(this.clock.getAsLong(), SLOT_MILLIS);
+    }
+
+    private static final class Key {
+
+        private final String type;
+        private final UUID id;
+
+        private Key(String type, UUID id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.type.equals(key.type) && this.id.equals(key.id);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(this.type, this.id);
+        }
+    }
+
+    // Identity equality, so a replaced entry can be removed from its slot.
+    private static final class Entry {
+
+        private final Key key;
+        private final long tick;
+        private final Runnable onExpiry;
+
+        private Entry(Key key, long tick, Runnable onExpiry) {
+            this.key = key;
+            this.tick = tick;
+            this.onExpiry = onExpiry;
+        }
+    }
+}
@@ -4,7 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.internal.services;
 
-import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
 import org.spongepowered.api.Sponge;
@@ -12,25 +11,23 @@ import org.spongepowered.api.scheduler.Task;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-
-import javax.annotation.concurrent.GuardedBy;
 
+/**
+ * Holds the warmup {@link Task} for each player who has one running.
+ *
+ * <p>Warmup tasks should call {@link #removeCompletedWarmup(UUID, Task)} when
+ * they run, so that the map only ever holds running warmups and
+ * {@link #hasWarmups()} can be checked before doing any other work.</p>
+ */
 public class WarmupManager implements NucleusWarmupManagerService {
 
-    private final Object mapLock = new Object();
-
-    @GuardedBy("mapLock")
-    private final Map<UUID, Task> warmupTasks = Maps.newHashMap();
+    private final Map<UUID, Task> warmupTasks = new ConcurrentHashMap<>();
 
     @Override
     public void addWarmup(UUID player, Task task) {
-        Task t;
-        synchronized (this.mapLock) {
-            t = this.warmupTasks.put(player, task);
-        }
-
+        Task t = this.warmupTasks.put(player, task);
         if (t != null) {
             t.cancel();
 
@@ -43,31 +40,52 @@ public class WarmupManager implements NucleusWarmupManagerService {
 
     @Override
     public boolean removeWarmup(UUID player) {
-        if (this.warmupTasks.containsKey(player)) {
-            Task t;
-            synchronized (this.mapLock) {
-                t = this.warmupTasks.remove(player);
+        Task t = this.warmupTasks.remove(player);
+        if (t != null && t.cancel()) {
+            if (t.getConsumer() instanceof CancellableTask) {
+                ((CancellableTask) t.getConsumer()).onCancel();
             }
 
-            if (t != null && t.cancel()) {
-                if (t.getConsumer() instanceof CancellableTask) {
-                    ((CancellableTask) t.getConsumer()).onCancel();
-                }
-
-                return true;
-            }
+            return true;
         }
 
         return false;
     }
 
+    /**
+     * Removes a warmup that has finished, without cancelling it. Does nothing
+     * if the player has since started another warmup.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param task The {@link Task} that has run.
+     */
+    public void removeCompletedWarmup(UUID player, Task task) {
+        this.warmupTasks.remove(player, task);
+    }
+
+    /**
+     * Gets whether any player has a warmup running.
+     *
+     * @return <code>true</code> if so.
+     */
+    public boolean hasWarmups() {
+        return !this.warmupTasks.isEmpty();
+    }
+
+    /**
+     * Gets whether a player has a warmup running.
+     *
+     * @param player The {@link UUID} of the player.
+     * @return <code>true</code> if so.
+     */
+    public boolean hasWarmup(UUID player) {
+        return this.warmupTasks.containsKey(player);
+    }
+
     @Override
     public void cleanup() {
-        synchronized (this.mapLock) {
-            this.warmupTasks.entrySet().stream().filter(v -> !Sponge.getGame().getScheduler().getScheduledTasks().contains(v.getValue()))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList())
-                    .forEach(this.warmupTasks::remove);
+        if (hasWarmups()) {
+            this.warmupTasks.values().removeIf(x -> !Sponge.getScheduler().getTaskById(x.getUniqueId()).isPresent());
         }
     }
 }
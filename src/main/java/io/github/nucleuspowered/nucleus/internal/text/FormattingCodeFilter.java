@@ -0,0 +1,184 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectOptionCache;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Removes the ampersand formatting codes that a {@link Subject} does not have
+ * permission to use from a message.
+ *
+ * <p>The codes a player may use are worked out once and held as a bitmask in
+ * the {@link SubjectOptionCache}, so they are only checked again when the
+ * player's permissions change. The message is then filtered in a single
+ * pass.</p>
+ */
+public final class FormattingCodeFilter {
+
+    private static final String CODES = "0123456789abcdefklmnor";
+    private static final int ALL = (1 << CODES.length()) - 1;
+    private static final String[] CACHE_OPTIONS = new String[0];
+
+    private final String cacheType;
+    private final BiPredicate<Subject, String> permissionCheck;
+    private final String[][] permissions = new String[CODES.length()][];
+
+    /**
+     * Creates a filter.
+     *
+     * @param id A unique identifier for this filter, used when caching results.
+     * @param permissionCheck The check to run for each permission.
+     * @param permissions The formatting codes that need permission, mapped to the permissions that allow them. A
+     *                    code is allowed if the subject has any of the permissions. Codes not in this map are
+     *                    always allowed.
+     */
+    public FormattingCodeFilter(String id, BiPredicate<Subject, String> permissionCheck, Map<Character, String[]> permissions) {
+        this.cacheType = "formatting:" + Preconditions.checkNotNull(id);
+        this.permissionCheck = Preconditions.checkNotNull(permissionCheck);
+        permissions.forEach((k, v) -> {
+            int index = CODES.indexOf(toLowerCase(k));
+            Preconditions.checkArgument(index > -1, "Not a formatting code: " + k);
+            this.permissions[index] = v;
+        });
+    }
+
+    /**
+     * Removes the codes the subject cannot use from the message.
+     *
+     * @param subject The {@link Subject}
+     * @param message The message
+     * @return The message, without the codes.
+     */
+    public String strip(Subject subject, String message) {
+        if (message.indexOf('&') == -1) {
+            return message;
+        }
+
+        int allowed = getAllowedCodes(subject);
+        if (allowed == ALL) {
+            return message;
+        }
+
+        StringBuilder sb = null;
+        int length = message.length();
+        int copied = 0;
+        for (int i = 0; i < length; i++) {
+            if (message.charAt(i) != '&') {
+                continue;
+            }
+
+            // All ampersands before a removed code go too, so that removing it cannot create a new code.
+            int end = i + 1;
+            while (end < length && message.charAt(end) == '&') {
+                end++;
+            }
+
+            if (end < length && !isAllowed(allowed, message.charAt(end))) {
+                if (sb == null) {
+                    sb = new StringBuilder(length);
+                }
+
+                sb.append(message, copied, i);
+                copied = end + 1;
+                i = end;
+            } else {
+                // Allowed, or not a code, so carry on from the last ampersand.
+                i = end - 1;
+            }
+        }
+
+        if (sb == null) {
+            return message;
+        }
+
+        return sb.append(message, copied, length).toString();
+    }
+
+    /**
+     * Gets the first code in the message that the subject cannot use, if any.
+     *
+     * @param subject The {@link Subject}
+     * @param message The message
+     * @return The code, if there is one.
+     */
+    public Optional<Character> getFirstDisallowedCode(Subject subject, String message) {
+        if (message.indexOf('&') == -1) {
+            return Optional.empty();
+        }
+
+        int allowed = getAllowedCodes(subject);
+        if (allowed == ALL) {
+            return Optional.empty();
+        }
+
+        for (int i = message.indexOf('&'); i > -1 && i < message.length() - 1; i = message.indexOf('&', i + 1)) {
+            char c = message.charAt(i + 1);
+            if (!isAllowed(allowed, c)) {
+                return Optional.of(toLowerCase(c));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private int getAllowedCodes(Subject subject) {
+        if (subject instanceof User && !(subject instanceof Player) && ((User) subject).getPlayer().isPresent()) {
+            subject = ((User) subject).getPlayer().get();
+        }
+
+        if (subject instanceof Player) {
+            final Subject s = subject;
+            return SubjectOptionCache.INSTANCE.get((Player) subject, this.cacheType, CACHE_OPTIONS, () -> Optional.of(computeAllowedCodes(s)))
+                    .orElse(0);
+        }
+
+        return computeAllowedCodes(subject);
+    }
+
+    private int computeAllowedCodes(Subject subject) {
+        int allowed = 0;
+        for (int i = 0; i < this.permissions.length; i++) {
+            if (hasAnyPermission(subject, this.permissions[i])) {
+                allowed |= 1 << i;
+            }
+        }
+
+        return allowed;
+    }
+
+    private boolean hasAnyPermission(Subject subject, @Nullable String[] permissions) {
+        if (permissions == null) {
+            return true;
+        }
+
+        for (String permission : permissions) {
+            if (this.permissionCheck.test(subject, permission)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAllowed(int allowed, char code) {
+        int index = CODES.indexOf(toLowerCase(code));
+        return index == -1 || (allowed & (1 << index)) != 0;
+    }
+
+    // Codes are ASCII, so don't let other characters lower case into one.
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
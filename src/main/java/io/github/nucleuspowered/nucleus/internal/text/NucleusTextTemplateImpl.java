@@ -4,10 +4,12 @@
  */
 package io.github.nucleuspowered.nucleus.internal.text;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.util.JsonConfigurateStringHelper;
 import io.github.nucleuspowered.nucleus.util.Tuples;
@@ -43,6 +45,9 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
     private final TextTemplate textTemplate;
     private final Map<String, Function<CommandSource, Text>> tokenMap = Maps.newHashMap();
 
+    // The template arguments, with their token strings parsed up front, keyed on the argument name.
+    private final Map<String, NucleusTokenServiceImpl.BoundToken> boundTokens;
+
     public NucleusTextTemplateImpl(String representation, @Nullable Text prefix, @Nullable Text suffix) {
         this.representation = representation;
         Tuple<TextTemplate, Map<String, Function<CommandSource, Text>>> t = parse(representation);
@@ -51,6 +56,10 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
         this.tokenMap.putAll(t.getSecond());
         this.prefix = prefix;
         this.suffix = suffix;
+
+        ImmutableMap.Builder<String, NucleusTokenServiceImpl.BoundToken> builder = ImmutableMap.builder();
+        this.textTemplate.getArguments().keySet().forEach(k -> builder.put(k, NucleusTokenServiceImpl.bind(k)));
+        this.boundTokens = builder.build();
     }
 
     public NucleusTextTemplateImpl(String representation) {
@@ -89,19 +98,21 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
             @Nullable Map<String, Object> variables) {
         final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
 
-        Map<String, TextTemplate.Arg> tokens = this.textTemplate.getArguments();
+        NucleusMessageTokenService tokenService = Nucleus.getNucleus().getMessageTokenService();
         Map<String, Text> finalArgs = Maps.newHashMap();
 
-        tokens.forEach((k, v) -> {
-            String key = k.toLowerCase();
+        this.boundTokens.forEach((k, bound) -> {
+            String key = bound.getKey();
 
             Text t;
             if (this.tokenMap.containsKey(key)) {
                 t = this.tokenMap.get(key).apply(source);
             } else if (tokensArray != null && tokensArray.containsKey(key)) {
                 t = tokensArray.get(key).apply(source).orElse(null);
+            } else if (tokenService instanceof NucleusTokenServiceImpl) {
+                t = ((NucleusTokenServiceImpl) tokenService).applyBoundToken(bound, source, variables2).orElse(null);
             } else {
-                t = Nucleus.getNucleus().getMessageTokenService().parseToken(key, source, variables2).orElse(null);
+                t = tokenService.parseToken(key, source, variables2).orElse(null);
             }
 
             if (t != null) {
@@ -228,7 +239,7 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
                         texts.push(style.getTextOf());
                     }
 
-                    cu.createTextTemplateFragmentWithLinks(s.get(i + 1)).mapIfPresent(texts::addAll, tokens::putAll);
+                    tt.mapIfPresent(texts::addAll, tokens::putAll);
                 }
             }
 
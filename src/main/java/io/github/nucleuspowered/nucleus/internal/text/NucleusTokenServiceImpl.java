@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.internal.text;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.PluginInfo;
@@ -14,6 +15,7 @@ import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -24,18 +26,29 @@ import org.spongepowered.api.util.Tuple;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.Nullable;
 
 public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
 
-    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
     private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
     private final NucleusPlugin plugin;
 
+    // Incremented whenever a parser is added or removed, so that bound tokens know to look their parser up again.
+    private volatile int registrationVersion = 0;
+
+    // Token results for the current tick, only touched on the main thread.
+    private volatile boolean memoisePerTick = false;
+    private final Map<MemoKey, Optional<Text>> tickMemo = Maps.newHashMap();
+    private int memoTick = -1;
+    private final LongAdder memoHits = new LongAdder();
+
+    private final Map<String, TokenMetrics> metrics = new ConcurrentHashMap<>();
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") private final Optional<Text> EMPTY = Optional.empty();
 
     public NucleusTokenServiceImpl(NucleusPlugin plugin) {
@@ -58,6 +71,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
 
         this.tokenStore.put(pluginContainer.getId(), textFunction);
+        this.registrationVersion++;
     }
 
     @Override public boolean unregister(PluginContainer pluginContainer) {
@@ -66,6 +80,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         TokenParser parser = this.tokenStore.remove(pluginContainer.getId());
         if (parser != null) {
             this.primaryTokenStore.entrySet().removeIf(x -> x.getValue().getFirst().equals(parser));
+            this.registrationVersion++;
             return true;
         }
 
@@ -78,6 +93,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
             // Register!
             this.primaryTokenStore.put(primaryIdentifier.toLowerCase(), Tuple.of(this.tokenStore.get(registeringPlugin.getId()),
                     identiferToMapTo.toLowerCase()));
+            this.registrationVersion++;
             return true;
         }
 
@@ -98,7 +114,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     }
 
     @Override public Optional<Text> parseToken(String token, CommandSource source, @Nullable Map<String, Object> variables) {
-        return getTextFromToken(token, source, variables);
+        return applyBoundToken(bind(token), source, variables);
     }
 
     @Override public boolean registerTokenFormat(String tokenStart, String tokenEnd, String replacement) throws IllegalArgumentException {
@@ -113,41 +129,43 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
-        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = suffixPattern.matcher(token);
-        boolean addSpace = false;
-        boolean prependSpace = false;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            addSpace = match.contains("s");
-            prependSpace = match.contains("p");
+    /**
+     * Parses the token string into a {@link BoundToken}, which can then be
+     * applied any number of times without parsing the string again.
+     *
+     * @param token The token, with or without the surrounding braces.
+     * @return The {@link BoundToken}.
+     */
+    public static BoundToken bind(String token) {
+        return new BoundToken(token);
+    }
 
-            token = token.replaceAll(":[sp]+$", "");
+    /**
+     * Gets the result of a {@link BoundToken} for the given {@link CommandSource}.
+     *
+     * @param token The {@link BoundToken}.
+     * @param source The {@link CommandSource}.
+     * @param variables The variables to pass to the parser, if any.
+     * @return The {@link Text}, if any.
+     */
+    public Optional<Text> applyBoundToken(BoundToken token, CommandSource source, @Nullable Map<String, Object> variables) {
+        if (token.type == BoundToken.Type.INVALID) {
+            return this.EMPTY;
         }
 
         try {
             Optional<Text> toReturn;
-            if (token.startsWith("pl:") || token.startsWith("p:")) {
-                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
-                String[] tokSplit = token.split(":", 3);
-                if (tokSplit.length < 3) {
-                    return this.EMPTY;
-                }
-
-                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
-            } else if (token.startsWith("o:")) { // Option identifier.
-                toReturn = getTextFromOption(source, token.substring(2));
+            if (this.memoisePerTick && Sponge.isServerAvailable() && Sponge.getServer().isMainThread()) {
+                toReturn = getMemoisedResult(token, source, variables);
             } else {
-                // Standard.
-                toReturn = applyPrimaryToken(token, source, variables);
+                toReturn = getResult(token, source, variables);
             }
 
-            if (addSpace) {
+            if (token.addSpace) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
             }
 
-            if (prependSpace) {
+            if (token.prependSpace) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
             }
 
@@ -161,6 +179,97 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
+    /**
+     * Sets whether token results should be remembered for the rest of the
+     * server tick, so that rendering the same token for the same source
+     * many times, such as when broadcasting, only runs the parser once.
+     *
+     * @param memoise Whether to remember results.
+     */
+    public void setMemoiseTokensPerTick(boolean memoise) {
+        this.memoisePerTick = memoise;
+        if (!memoise && Sponge.isServerAvailable() && Sponge.getServer().isMainThread()) {
+            this.tickMemo.clear();
+        }
+    }
+
+    public long getMemoHits() {
+        return this.memoHits.sum();
+    }
+
+    /**
+     * Gets how often each token has been parsed, and how long it took.
+     *
+     * @return The metrics, keyed on the token.
+     */
+    public Map<String, TokenMetrics> getTokenMetrics() {
+        return ImmutableMap.copyOf(this.metrics);
+    }
+
+    public void resetTokenMetrics() {
+        this.metrics.clear();
+        this.memoHits.reset();
+    }
+
+    private Optional<Text> getMemoisedResult(BoundToken token, CommandSource source, @Nullable Map<String, Object> variables)
+            throws Exception {
+        int tick = Sponge.getServer().getRunningTimeTicks();
+        if (tick != this.memoTick) {
+            this.tickMemo.clear();
+            this.memoTick = tick;
+        }
+
+        MemoKey key = new MemoKey(source.getIdentifier(), token.name, variables);
+        Optional<Text> result = this.tickMemo.get(key);
+        if (result == null) {
+            result = getResult(token, source, variables);
+            this.tickMemo.put(key, result);
+        } else {
+            this.memoHits.increment();
+        }
+
+        return result;
+    }
+
+    private Optional<Text> getResult(BoundToken token, CommandSource source, @Nullable Map<String, Object> variables) throws Exception {
+        long start = System.nanoTime();
+        try {
+            if (token.type == BoundToken.Type.OPTION) {
+                return getTextFromOption(source, token.identifier);
+            }
+
+            Tuple<TokenParser, String> parser = getParser(token);
+            return parser == null ? this.EMPTY : parser.getFirst().parse(parser.getSecond(), source, variables);
+        } finally {
+            this.metrics.computeIfAbsent(token.metricName, k -> new TokenMetrics()).record(System.nanoTime() - start);
+        }
+    }
+
+    @Nullable
+    private Tuple<TokenParser, String> getParser(BoundToken token) {
+        int version = this.registrationVersion;
+        BoundToken.Binding binding = token.binding;
+        if (binding != null && binding.version == version) {
+            return binding.parser;
+        }
+
+        Tuple<TokenParser, String> parser = null;
+        if (token.type == BoundToken.Type.PLUGIN) {
+            TokenParser tokenParser = this.tokenStore.get(token.pluginId);
+            if (tokenParser != null) {
+                parser = Tuple.of(tokenParser, token.identifier);
+            }
+        } else {
+            Tuple<TokenParser, String> primary = this.primaryTokenStore.get(token.identifier);
+            if (primary != null) {
+                parser = token.arguments == null ? primary : Tuple.of(primary.getFirst(), primary.getSecond() + "|" + token.arguments);
+            }
+        }
+
+        token.binding = new BoundToken.Binding(version, parser);
+        return parser;
+    }
+
     private Optional<Text> getTextFromOption(CommandSource cs, String option) {
         if (cs instanceof Player) {
             return Util.getOptionFromSubject(cs, option).map(TextSerializers.FORMATTING_CODE::deserialize);
@@ -172,4 +281,172 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     public Tokens getNucleusTokenParser() {
         return ((Tokens) this.tokenStore.get("nucleus"));
     }
+
+    /**
+     * A token that has had its string form parsed into the parts needed to
+     * apply it - the plugin and identifier, or option, and whether spaces
+     * should be added around the result.
+     */
+    public static final class BoundToken {
+
+        private final Type type;
+        private final String key;
+        private final String name;
+        private final String metricName;
+        @Nullable private final String pluginId;
+        private final String identifier;
+        @Nullable private final String arguments;
+        private final boolean addSpace;
+        private final boolean prependSpace;
+
+        // The parser this token resolved to, for the registrations at the time.
+        @Nullable private volatile Binding binding = null;
+
+        private BoundToken(String input) {
+            this.key = input.toLowerCase();
+            String token = this.key.trim().replace("{{", "").replace("}}", "");
+
+            // Suffix of the form :s, :p or :sp
+            boolean addSpace = false;
+            boolean prependSpace = false;
+            int end = token.length();
+            while (end > 0 && (token.charAt(end - 1) == 's' || token.charAt(end - 1) == 'p')) {
+                end--;
+            }
+
+            if (end > 0 && end < token.length() && token.charAt(end - 1) == ':') {
+                String match = token.substring(end);
+                addSpace = match.contains("s");
+                prependSpace = match.contains("p");
+                token = token.substring(0, end - 1);
+            }
+
+            this.addSpace = addSpace;
+            this.prependSpace = prependSpace;
+            this.name = token;
+
+            if (token.startsWith("pl:") || token.startsWith("p:")) {
+                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
+                String[] tokSplit = token.split(":", 3);
+                if (tokSplit.length < 3) {
+                    this.type = Type.INVALID;
+                    this.pluginId = null;
+                    this.identifier = token;
+                } else {
+                    this.type = Type.PLUGIN;
+                    this.pluginId = tokSplit[1];
+                    this.identifier = tokSplit[2];
+                }
+
+                this.arguments = null;
+            } else if (token.startsWith("o:")) { // Option identifier.
+                this.type = Type.OPTION;
+                this.pluginId = null;
+                this.identifier = token.substring(2);
+                this.arguments = null;
+            } else {
+                // Standard, which may have arguments after a pipe.
+                this.type = token.isEmpty() ? Type.INVALID : Type.PRIMARY;
+                this.pluginId = null;
+                int pipe = token.indexOf('|');
+                if (pipe == -1) {
+                    this.identifier = token;
+                    this.arguments = null;
+                } else {
+                    this.identifier = token.substring(0, pipe);
+                    this.arguments = token.substring(pipe + 1);
+                }
+            }
+
+            // Arguments are left out so that metrics are per token, not per use.
+            int pipe = token.indexOf('|');
+            this.metricName = pipe == -1 ? token : token.substring(0, pipe);
+        }
+
+        /**
+         * Gets the token as it was supplied, in lower case.
+         *
+         * @return The key.
+         */
+        public String getKey() {
+            return this.key;
+        }
+
+        private enum Type {
+            PLUGIN,
+            OPTION,
+            PRIMARY,
+            INVALID
+        }
+
+        private static final class Binding {
+
+            private final int version;
+            @Nullable private final Tuple<TokenParser, String> parser;
+
+            private Binding(int version, @Nullable Tuple<TokenParser, String> parser) {
+                this.version = version;
+                this.parser = parser;
+            }
+        }
+    }
+
+    /**
+     * The number of times a token has been parsed, and the time spent doing so.
+     */
+    public static final class TokenMetrics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        private void record(long nanos) {
+            this.count.increment();
+            this.totalTime.add(nanos);
+            this.maxTime.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getTotalTimeNanos() {
+            return this.totalTime.sum();
+        }
+
+        public long getMaxTimeNanos() {
+            return this.maxTime.get();
+        }
+    }
+
+    private static final class MemoKey {
+
+        private final String source;
+        private final String token;
+        @Nullable private final Map<String, Object> variables;
+
+        private MemoKey(String source, String token, @Nullable Map<String, Object> variables) {
+            this.source = source;
+            this.token = token;
+            this.variables = variables == null || variables.isEmpty() ? null : variables;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            // Variables are compared by identity - the same map is passed for each recipient of a broadcast.
+            MemoKey memoKey = (MemoKey) o;
+            return this.source.equals(memoKey.source) && this.token.equals(memoKey.token) && this.variables == memoKey.variables;
+        }
+
+        @Override public int hashCode() {
+            return 31 * (31 * this.source.hashCode() + this.token.hashCode()) + System.identityHashCode(this.variables);
+        }
+    }
 }
@@ -44,7 +44,7 @@ import javax.annotation.Nullable;
 
 public class TextParsingUtils implements Reloadable, MessageProviderTrait, InternalServiceManagerTrait {
 
-    private static final Pattern colours = Pattern.compile(".*?(?<colour>(&[0-9a-flmnrok])+)$");
+    private static final String COLOUR_CODES = "0123456789abcdeflmnrok";
 
     private final Pattern enhancedUrlParser =
             Pattern.compile("(?<first>(^|\\s))(?<reset>&r)?(?<colour>(&[0-9a-flmnrok])+)?"
@@ -75,24 +75,17 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
         }
 
         List<TextElement> texts = Lists.newArrayList();
-        String remaining = message;
+        int lastEnd = 0;
         TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(urlParser.pattern(), 2);
+            // We found a URL. The matcher already knows where it is, so take the text before it.
             Text first = Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(lastEnd, m.start()))).build();
+            lastEnd = m.end();
 
             // Add this text to the list regardless.
             texts.add(first);
 
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
-
             // Get the last colour & styles
             String colourMatch = m.group("colour");
             if (replaceBlueUnderline) {
@@ -128,13 +121,11 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
             if (replaceBlueUnderline) {
                 st = TextParsingUtils.getLastColourAndStyle(first, st, TextColors.WHITE, TextStyles.NONE);
             }
-        } while (remaining != null && m.find());
+        } while (m.find());
 
         // Add the last bit.
-        if (remaining != null) {
-            texts.add(
-                Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
-        }
+        texts.add(Text.builder().color(st.colour).style(st.style)
+                .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(lastEnd))).build());
 
         // Join it all together.
         //noinspection SuspiciousToArrayCall,ToArrayCallWithZeroLengthArrayArgument
@@ -142,17 +133,50 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
     }
 
     public static Text oldLegacy(String message) {
-        Matcher colourMatcher = colours.matcher(message);
-        if (colourMatcher.matches()) {
-            Text first = TextSerializers.FORMATTING_CODE.deserialize(message.replace(colourMatcher.group("colour"), ""));
-            String match = colourMatcher.group("colour") + " ";
-            Text t = TextSerializers.FORMATTING_CODE.deserialize(match);
+        String colour = getTrailingColourCodes(message);
+        if (colour != null) {
+            Text first = TextSerializers.FORMATTING_CODE.deserialize(message.replace(colour, ""));
+            Text t = TextSerializers.FORMATTING_CODE.deserialize(colour + " ");
             return Text.of(first, t.getColor(), first.getStyle().and(t.getStyle()));
         }
 
         return TextSerializers.FORMATTING_CODE.deserialize(message);
     }
 
+    /**
+     * Gets the run of ampersand formatting codes at the end of the message, if
+     * there is one and the message is a single line.
+     *
+     * @param message The message.
+     * @return The codes, or <code>null</code> if there are none.
+     */
+    @Nullable
+    public static String getTrailingColourCodes(String message) {
+        int start = message.length();
+        while (start > 1 && message.charAt(start - 2) == '&' && COLOUR_CODES.indexOf(message.charAt(start - 1)) > -1) {
+            start -= 2;
+        }
+
+        if (start == message.length()) {
+            return null;
+        }
+
+        for (int i = 0; i < start; i++) {
+            switch (message.charAt(i)) {
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return null;
+                default:
+                    break;
+            }
+        }
+
+        return message.substring(start);
+    }
+
     public Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>> createTextTemplateFragmentWithLinks(String message) {
         Preconditions.checkNotNull(message, "message");
         if (message.isEmpty()) {
@@ -166,24 +190,17 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
 
         Map<String, Function<CommandSource, Text>> args = Maps.newHashMap();
         List<TextRepresentable> texts = Lists.newArrayList();
-        String remaining = message;
+        int lastEnd = 0;
         StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(this.enhancedUrlParser.pattern(), 2);
+            // We found a URL. The matcher already knows where it is, so take the text before it.
             TextRepresentable first = Text.builder().color(st.colour).style(st.style)
-                    .append(oldLegacy(textArray[0])).build();
+                    .append(oldLegacy(message.substring(lastEnd, m.start()))).build();
+            lastEnd = m.end();
 
             // Add this text to the list regardless.
             texts.add(first);
 
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
-
             // Get the last colour & styles
             String colourMatch = m.group("colour");
             if (colourMatch != null && !colourMatch.isEmpty()) {
@@ -226,22 +243,46 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
                     texts.add(Text.of(st.colour, st.style, getCmd(msg, cmd, optionList, whiteSpace)));
                 }
             }
-        } while (remaining != null && m.find());
+        } while (m.find());
 
         // Add the last bit.
-        if (remaining != null) {
-            Text.Builder tb = Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining));
-            if (remaining.matches("^\\s+&r.*")) {
-                tb.style(TextStyles.RESET);
-            }
-
-            texts.add(tb.build());
+        String remaining = message.substring(lastEnd);
+        Text.Builder tb = Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining));
+        if (startsWithWhitespaceThenReset(remaining)) {
+            tb.style(TextStyles.RESET);
         }
 
+        texts.add(tb.build());
+
         // Return the list.
         return new Tuples.NullableTuple<>(texts, args);
     }
 
+    // Equivalent to remaining.matches("^\\s+&r.*"), without compiling the pattern each time.
+    private static boolean startsWithWhitespaceThenReset(String remaining) {
+        int i = 0;
+        while (i < remaining.length() && isRegexWhitespace(remaining.charAt(i))) {
+            i++;
+        }
+
+        if (i == 0 || !remaining.startsWith("&r", i)) {
+            return false;
+        }
+
+        for (int j = i + 2; j < remaining.length(); j++) {
+            char c = remaining.charAt(j);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     private Text getCmd(String msg, String cmd, String optionList, String whiteSpace) {
         Text.Builder textBuilder = Text.builder(msg)
                 .onClick(TextActions.runCommand(cmd))
@@ -335,22 +376,11 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
 
     public static StyleTuple getLastColourAndStyle(TextRepresentable text, @Nullable StyleTuple current, TextColor defaultColour,
             TextStyle defaultStyle) {
-        List<Text> texts = flatten(text.toText());
-        if (texts.isEmpty()) {
-            return current == null ? new StyleTuple(defaultColour, defaultStyle) : current;
-        }
-
-        TextColor tc = TextColors.NONE;
-        TextStyle ts =  texts.get(texts.size() - 1).getStyle();
-
-        for (int i = texts.size() - 1; i > -1; i--) {
-            // If we have both a Text Colour and a Text Style, then break out.
-            tc = texts.get(i).getColor();
-            if (tc != TextColors.NONE) {
-                break;
-            }
-        }
-
+        // Walk the tree from the end rather than flattening it - the style comes from the last
+        // text in the tree, the colour from the last text that has one.
+        Text t = text.toText();
+        TextStyle ts = getLastText(t).getStyle();
+        TextColor tc = getLastColour(t);
         if (tc == TextColors.NONE) {
             tc = defaultColour;
         }
@@ -362,13 +392,26 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
         return new StyleTuple(tc != TextColors.NONE ? tc : current.colour, ts);
     }
 
-    private static List<Text> flatten(Text text) {
-        List<Text> texts = Lists.newArrayList(text);
-        if (!text.getChildren().isEmpty()) {
-            text.getChildren().forEach(x -> texts.addAll(flatten(x)));
+    private static Text getLastText(Text text) {
+        List<Text> children = text.getChildren();
+        while (!children.isEmpty()) {
+            text = children.get(children.size() - 1);
+            children = text.getChildren();
+        }
+
+        return text;
+    }
+
+    private static TextColor getLastColour(Text text) {
+        List<Text> children = text.getChildren();
+        for (int i = children.size() - 1; i > -1; i--) {
+            TextColor tc = getLastColour(children.get(i));
+            if (tc != TextColors.NONE) {
+                return tc;
+            }
         }
 
-        return texts;
+        return text.getColor();
     }
 
     public Text addCommandToName(CommandSource p) {
@@ -4,7 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.internal.userprefs;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusUserPreferenceService;
 import io.github.nucleuspowered.nucleus.argumentparsers.TargetHasPermissionArgument;
@@ -28,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -38,6 +42,7 @@ public class UserPreferenceService implements NucleusUserPreferenceService {
 
     private final Map<String, NucleusUserPreferenceService.PreferenceKey<?>> registered = new HashMap<>();
     private final Element element = new Element();
+    private final ListMultimap<String, Consumer<UUID>> changeListeners = Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
 
     public static final Text PREFERENCE_ARG = Text.of("preference");
     public static final Text VALUE_ARG = Text.of("value");
@@ -78,6 +83,20 @@ public class UserPreferenceService implements NucleusUserPreferenceService {
                 .orElseThrow(IllegalStateException::new)
                 .get(PreferencesUserModule.class)
                 .set(key.getID(), value);
+        synchronized (this.changeListeners) {
+            this.changeListeners.get(key.getID()).forEach(x -> x.accept(uuid));
+        }
+    }
+
+    /**
+     * Registers a {@link Consumer} that is given the {@link UUID} of any user
+     * whose preference for the given key is set.
+     *
+     * @param key The key
+     * @param onChange The {@link Consumer}
+     */
+    public void onChange(NucleusUserPreferenceService.PreferenceKey<?> key, Consumer<UUID> onChange) {
+        this.changeListeners.put(key.getID(), onChange);
     }
 
     public Map<NucleusUserPreferenceService.PreferenceKey<?>, Object> get(User user) {
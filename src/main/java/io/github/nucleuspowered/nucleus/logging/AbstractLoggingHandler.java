@@ -5,7 +5,6 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import org.spongepowered.api.GameState;
@@ -14,25 +13,49 @@ import org.spongepowered.api.Sponge;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
+/**
+ * Writes log entries to a {@link DateRotatableFileLogger} on a dedicated
+ * thread.
+ *
+ * <p>Entries go into a bounded queue, so logging never blocks the thread
+ * that makes the entry. If the writer falls so far behind that the queue
+ * is full, new entries are dropped and counted. The writer flushes after
+ * {@link #FLUSH_LINES} lines or {@link #FLUSH_MILLIS} milliseconds,
+ * whichever comes first.</p>
+ */
 public abstract class AbstractLoggingHandler {
 
+    private static final int QUEUE_SIZE = 8192;
+    private static final int FLUSH_LINES = 256;
+    private static final long FLUSH_MILLIS = 1000;
+
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
         .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
-    protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
+    protected volatile DateRotatableFileLogger logger;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
     private final Nucleus plugin = Nucleus.getNucleus();
 
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Nullable private Writer writer;
+
     @Inject
     public AbstractLoggingHandler(String directoryName, String filePrefix) {
         this.directoryName = directoryName;
@@ -41,12 +64,26 @@ public abstract class AbstractLoggingHandler {
 
     public void queueEntry(String s) {
         if (this.logger != null) {
-            synchronized (this.locking) {
-                this.queueEntry.add(s);
+            if (this.queue.offer(new Entry(System.currentTimeMillis(), s))) {
+                this.queued.increment();
+            } else {
+                this.dropped.increment();
             }
         }
     }
 
+    public long getQueuedCount() {
+        return this.queued.sum();
+    }
+
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
     public abstract void onReload() throws Exception;
 
     public void onServerShutdown() throws IOException {
@@ -54,62 +91,127 @@ public abstract class AbstractLoggingHandler {
         onShutdown();
     }
 
-    protected void onShutdown() throws IOException {
-        if (this.logger != null) {
-            this.logger.close();
-            this.logger = null;
+    /**
+     * Stops accepting entries, writes anything that is waiting and closes the
+     * log file.
+     */
+    protected synchronized void onShutdown() throws IOException {
+        this.logger = null;
+        if (this.writer != null) {
+            this.writer.running = false;
+            try {
+                this.writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            this.writer = null;
         }
     }
 
-    protected abstract boolean enabledLog();
+    protected synchronized void createLogger() throws IOException {
+        DateRotatableFileLogger fileLogger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, null);
+        this.writer = new Writer(fileLogger);
+        this.writer.start();
+        this.logger = fileLogger;
+    }
 
-    public void onTick() {
-        if (this.queueEntry.isEmpty()) {
-            return;
+    private void warnCouldNotWrite(Exception e) {
+        this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+        if (this.plugin.isDebugMode()) {
+            e.printStackTrace();
         }
+    }
+
+    private static final class Entry {
 
-        List<String> l;
-        synchronized (this.locking) {
-            l = Lists.newArrayList(this.queueEntry);
-            this.queueEntry.clear();
+        private final long time;
+        private final String line;
+
+        private Entry(long time, String line) {
+            this.time = time;
+            this.line = line;
         }
+    }
 
-        if (this.logger == null) {
-            if (enabledLog()) {
+    private final class Writer extends Thread {
+
+        private final DateRotatableFileLogger fileLogger;
+        private volatile boolean running = true;
+
+        // Only used on this thread. The format doesn't go below minutes, so this is only done once a second at most.
+        private long lastSecond = -1;
+        private String lastTimestamp = "";
+
+        private Writer(DateRotatableFileLogger fileLogger) {
+            super("Nucleus Log Writer - " + AbstractLoggingHandler.this.directoryName);
+            setDaemon(true);
+            this.fileLogger = fileLogger;
+        }
+
+        @Override
+        public void run() {
+            List<Entry> batch = new ArrayList<>(FLUSH_LINES);
+            List<String> lines = new ArrayList<>(FLUSH_LINES);
+            int unflushed = 0;
+            long lastFlush = System.currentTimeMillis();
+            while (this.running || !AbstractLoggingHandler.this.queue.isEmpty()) {
                 try {
-                    createLogger();
-                } catch (IOException e) {
-                    this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-                    if (this.plugin.isDebugMode()) {
-                        e.printStackTrace();
+                    Entry entry = AbstractLoggingHandler.this.queue.poll(FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+                    if (entry != null) {
+                        batch.add(entry);
+                        AbstractLoggingHandler.this.queue.drainTo(batch, FLUSH_LINES - 1);
+                    }
+                } catch (InterruptedException e) {
+                    this.running = false;
+                }
+
+                if (!batch.isEmpty()) {
+                    try {
+                        for (Entry entry : batch) {
+                            lines.add("[" + getTimestamp(entry.time) + "] " + entry.line);
+                        }
+
+                        this.fileLogger.logEntry(lines, false);
+                        AbstractLoggingHandler.this.written.add(batch.size());
+                        unflushed += batch.size();
+                    } catch (IOException | RuntimeException e) {
+                        // Anything thrown here would otherwise end the thread, and nothing would be logged again.
+                        warnCouldNotWrite(e);
                     }
 
-                    return;
+                    batch.clear();
+                    lines.clear();
+                }
+
+                long now = System.currentTimeMillis();
+                if (unflushed > 0 && (unflushed >= FLUSH_LINES || now - lastFlush >= FLUSH_MILLIS)) {
+                    try {
+                        this.fileLogger.flush();
+                    } catch (IOException | RuntimeException e) {
+                        warnCouldNotWrite(e);
+                    }
+
+                    unflushed = 0;
+                    lastFlush = now;
                 }
-            } else {
-                return;
             }
-        }
 
-        try {
-            writeEntry(l);
-        } catch (IOException e) {
-            this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-            if (this.plugin.isDebugMode()) {
-                e.printStackTrace();
+            try {
+                this.fileLogger.close();
+            } catch (IOException | RuntimeException e) {
+                warnCouldNotWrite(e);
             }
         }
-    }
 
-    protected void createLogger() throws IOException {
-        this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, s -> "[" +
-            formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
-    }
+        private String getTimestamp(long time) {
+            long second = time / 1000;
+            if (second != this.lastSecond) {
+                this.lastSecond = second;
+                this.lastTimestamp = formatter.format(Instant.ofEpochMilli(time));
+            }
 
-    private void writeEntry(Iterable<String> entry) throws IOException {
-        if (this.logger != null) {
-            this.logger.logEntry(entry);
+            return this.lastTimestamp;
         }
     }
 }
@@ -6,6 +6,8 @@ package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.Closeable;
@@ -18,12 +20,21 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
 
+    // Old log files are compressed here, so that writing to the new file doesn't have to wait.
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Nucleus Log Compressor - %d").setDaemon(true).build());
+    private final Set<Path> compressing = Sets.newConcurrentHashSet();
+
     private final Path directory;
     private final String filenamePrefix;
     private Instant currentDate;
@@ -50,6 +61,7 @@ public class DateRotatableFileLogger implements Closeable {
             try {
                 this.file.close();
             } finally {
+                compress(this.file.getLocation());
                 this.file = null;
             }
         }
@@ -62,11 +74,7 @@ public class DateRotatableFileLogger implements Closeable {
             fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                compress(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
                 this.file = new LogFile(nextFile, this.formatter);
                 go = true;
@@ -85,14 +93,46 @@ public class DateRotatableFileLogger implements Closeable {
     }
 
     public void logEntry(Iterable<String> entry) throws IOException {
+        logEntry(entry, true);
+    }
+
+    /**
+     * Writes the entries to the file.
+     *
+     * @param entry The entries. Each one is removed as it is written.
+     * @param flush Whether to flush the file after writing.
+     * @throws IOException if the entries could not be written.
+     */
+    public void logEntry(Iterable<String> entry, boolean flush) throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
-        logEntry(entry, true);
+        logEntry(entry, flush, true);
+    }
+
+    public void flush() throws IOException {
+        if (this.file != null && !this.file.isClosed()) {
+            this.file.flush();
+        }
+    }
+
+    private void compress(Path path) {
+        // If it's already being compressed, it will be gone soon.
+        if (this.compressing.add(path)) {
+            this.compressor.execute(() -> {
+                try {
+                    Util.compressAndDeleteFile(path);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    this.compressing.remove(path);
+                }
+            });
+        }
     }
 
-    private void logEntry(Iterable<String> entry, boolean retryOnError) throws IOException {
+    private void logEntry(Iterable<String> entry, boolean flush, boolean retryOnError) throws IOException {
         if (this.file == null || this.file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(this.currentDate)) {
             openFile();
         }
@@ -104,10 +144,12 @@ public class DateRotatableFileLogger implements Closeable {
                 iterator.remove();
             }
 
-            this.file.flush();
+            if (flush) {
+                this.file.flush();
+            }
         } catch (IOException e) {
             if (retryOnError) {
-                logEntry(entry, false);
+                logEntry(entry, flush, false);
             } else {
                 throw e;
             }
@@ -121,9 +163,23 @@ public class DateRotatableFileLogger implements Closeable {
         }
 
         if (this.file != null && !this.file.isClosed()) {
-            this.file.close();
-            this.file = null;
-            this.isClosed = true;
+            try {
+                this.file.close();
+            } finally {
+                compress(this.file.getLocation());
+                this.file = null;
+            }
+        }
+
+        // Nothing can be compressed after this, so make sure nothing else can be written.
+        this.isClosed = true;
+
+        // Let anything that is waiting finish, as nothing will pick the files up later in this session.
+        this.compressor.shutdown();
+        try {
+            this.compressor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
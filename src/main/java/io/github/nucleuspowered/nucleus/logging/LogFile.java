@@ -5,7 +5,6 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.BufferedWriter;
 import java.io.Closeable;
@@ -44,6 +43,10 @@ class LogFile implements Closeable {
         this.outputStream.flush();
     }
 
+    Path getLocation() {
+        return this.location;
+    }
+
     boolean isClosed() {
         return this.isClosed;
     }
@@ -58,8 +61,6 @@ class LogFile implements Closeable {
             this.outputStream.close();
         } finally {
             this.isClosed = true;
-
-            Util.compressAndDeleteFile(this.location);
         }
     }
 }
@@ -22,6 +22,10 @@ abstract class AbstractAFKListener implements ListenerBase {
         this.handler.stageUserActivityUpdate(player);
     }
 
+    final void remove(Player player) {
+        this.handler.removePlayer(player.getUniqueId());
+    }
+
     final boolean getTriggerConfigEntry(Predicate<AFKConfig.Triggers> triggersPredicate) {
         return Nucleus.getNucleus().getConfigValue(AFKModule.ID, AFKConfigAdapter.class, x -> triggersPredicate.test(x.getTriggers())).orElse(false);
     }
@@ -5,10 +5,8 @@
 package io.github.nucleuspowered.nucleus.modules.afk.services;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
@@ -41,13 +39,19 @@ import org.spongepowered.api.text.chat.ChatTypes;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -62,13 +66,18 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
     private final CommandPermissionHandler afkPermissionHandler;
     private AFKConfig config;
 
-    @GuardedBy("lock")
-    private final Set<UUID> activity = Sets.newHashSet();
+    // The time of each online player's last activity that has not been processed yet, or zero if there is none.
+    // A player is added to the pending queue when their slot goes from zero to a time, so each tick only
+    // looks at the players who have done something.
+    private final Map<UUID, AtomicLong> activity = new ConcurrentHashMap<>();
+    private final Queue<UUID> pendingActivity = new ConcurrentLinkedQueue<>();
 
-    @GuardedBy("lock2")
-    private final Multimap<UUID, UUID> disabledTracking = HashMultimap.create();
-    private final Object lock = new Object();
-    private final Object lock2 = new Object();
+    private final Map<UUID, Set<UUID>> disabledTracking = new ConcurrentHashMap<>();
+
+    // When each player next needs to be looked at, to go AFK or be kicked. Entries are not removed when a player
+    // is active, instead they are checked against AFKData#queuedDeadline and rescheduled when they come up.
+    @GuardedBy("deadlines")
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
 
     private final String exempttoggle = "exempt.toggle";
     private final String exemptkick = "exempt.kick";
@@ -88,78 +97,136 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
     }
 
     private void stageUserActivityUpdate(UUID uuid) {
-        synchronized (this.lock) {
-            synchronized (this.lock2) {
-                if (this.disabledTracking.containsKey(uuid)) {
-                    return;
-                }
-            }
+        if (this.disabledTracking.containsKey(uuid)) {
+            return;
+        }
 
-            this.activity.add(uuid);
+        AtomicLong slot = this.activity.get(uuid);
+        if (slot == null) {
+            slot = this.activity.computeIfAbsent(uuid, k -> new AtomicLong());
+        }
+
+        if (slot.getAndSet(System.currentTimeMillis()) == 0) {
+            this.pendingActivity.add(uuid);
         }
     }
 
     public void onTick() {
-        synchronized (this.lock) {
-            this.activity.forEach(u -> this.data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) : updateActivity(uuid, afkData))));
-            this.activity.clear();
+        UUID u;
+        while ((u = this.pendingActivity.poll()) != null) {
+            AtomicLong slot = this.activity.get(u);
+            long time = slot == null ? 0 : slot.getAndSet(0);
+            if (time != 0 && Sponge.getServer().getPlayer(u).isPresent()) {
+                this.data.compute(u, ((uuid, afkData) -> afkData == null ? newData(uuid) : updateActivity(uuid, afkData, time)));
+            }
         }
 
-        List<UUID> uuidList = Sponge.getServer().getOnlinePlayers().stream().map(Player::getUniqueId).collect(Collectors.toList());
-
-        // Remove all offline players.
-        Set<Map.Entry<UUID, AFKData>> entries = this.data.entrySet();
-        entries.removeIf(refactor -> !uuidList.contains(refactor.getKey()));
-        entries.stream().filter(x -> !x.getValue().cacheValid).forEach(x -> x.getValue().updateFromPermissions());
-
         long now = System.currentTimeMillis();
+        List<AFKData> due = new ArrayList<>();
+        synchronized (this.deadlines) {
+            while (!this.deadlines.isEmpty() && this.deadlines.peek().time < now) {
+                Deadline deadline = this.deadlines.poll();
+                if (deadline.time == deadline.data.queuedDeadline) {
+                    deadline.data.queuedDeadline = Long.MAX_VALUE;
+                    due.add(deadline.data);
+                }
+            }
+        }
+
+        for (AFKData afkData : due) {
+            if (this.data.get(afkData.uuid) != afkData) {
+                // Logged out.
+                continue;
+            }
 
-        // Check AFK status.
-        entries.stream().filter(x -> x.getValue().isKnownAfk && !x.getValue().willKick && x.getValue().timeToKick > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime > e.getValue().timeToKick) {
-                // Kick them
-                e.getValue().willKick = true;
-                NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
-                TextRepresentable t;
-                if (message == null || message.isEmpty()) {
-                    t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
-                } else {
-                    t = message;
+            afkData.updateFromPermissions();
+            if (afkData.isKnownAfk) {
+                if (!afkData.willKick && afkData.timeToKick > 0 && now - afkData.lastActivityTime > afkData.timeToKick) {
+                    kick(afkData);
                 }
+            } else if (afkData.timeToAfk > 0 && now - afkData.lastActivityTime > afkData.timeToAfk) {
+                Sponge.getServer().getPlayer(afkData.uuid).ifPresent(this::setAfkInternal);
+            }
+
+            // If they've been active since this was scheduled, or have just gone AFK, this puts them back in the queue.
+            schedule(afkData);
+        }
+    }
+
+    private void kick(AFKData afkData) {
+        afkData.willKick = true;
+        NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
+        TextRepresentable t;
+        if (message == null || message.isEmpty()) {
+            t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
+        } else {
+            t = message;
+        }
 
-                final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
-
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(player -> {
-                    MessageChannel mc;
-                    if (this.config.isBroadcastOnKick()) {
-                        mc = MessageChannel.TO_ALL;
-                    } else {
-                        mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
-                    }
-
-                    AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
-                    if (Sponge.getEventManager().post(events)) {
-                        // Cancelled.
-                        return;
-                    }
-
-                    Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
-                    Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
-                    events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
-                });
+        final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
+
+        Sponge.getServer().getPlayer(afkData.uuid).ifPresent(player -> {
+            MessageChannel mc;
+            if (this.config.isBroadcastOnKick()) {
+                mc = MessageChannel.TO_ALL;
+            } else {
+                mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
             }
-        });
 
-        // Check AFK status.
-        entries.stream().filter(x -> !x.getValue().isKnownAfk && x.getValue().timeToAfk > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime  > e.getValue().timeToAfk) {
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(this::setAfkInternal);
+            AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
+            if (Sponge.getEventManager().post(events)) {
+                // Cancelled.
+                return;
             }
+
+            Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
+            Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
+            events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
         });
     }
 
     public void invalidateAfkCache() {
-        this.data.forEach((k, v) -> v.cacheValid = false);
+        this.data.forEach((k, v) -> {
+            v.cacheValid = false;
+            v.updateFromPermissions();
+
+            // The times might be shorter now.
+            schedule(v);
+        });
+    }
+
+    public void removePlayer(UUID uuid) {
+        this.activity.remove(uuid);
+
+        AFKData afkData = this.data.remove(uuid);
+        if (afkData != null) {
+            synchronized (this.deadlines) {
+                this.deadlines.removeIf(x -> x.data == afkData);
+                afkData.queuedDeadline = Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private AFKData newData(UUID uuid) {
+        AFKData afkData = new AFKData(uuid);
+        schedule(afkData);
+        return afkData;
+    }
+
+    // Deadlines only need to be queued when they come earlier than the one already queued. Later ones are
+    // picked up when the earlier one comes up in onTick.
+    private void schedule(AFKData afkData) {
+        long next = afkData.getNextDeadline();
+        if (next == Long.MAX_VALUE) {
+            return;
+        }
+
+        synchronized (this.deadlines) {
+            if (next < afkData.queuedDeadline) {
+                afkData.queuedDeadline = next;
+                this.deadlines.add(new Deadline(next, afkData));
+            }
+        }
     }
 
     public boolean isAFK(UUID uuid) {
@@ -176,7 +243,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         }
 
         UUID uuid = player.getUniqueId();
-        AFKData a = this.data.compute(uuid, ((u, afkData) -> afkData == null ? new AFKData(u) : afkData));
+        AFKData a = this.data.compute(uuid, ((u, afkData) -> afkData == null ? newData(u) : afkData));
         if (force) {
             a.isKnownAfk = false;
         } else if (a.isKnownAfk) {
@@ -184,9 +251,10 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         }
 
         if (a.canGoAfk()) {
-            // Don't accident undo setting AFK, remove any activity from the list.
-            synchronized (this.lock) {
-                this.activity.remove(uuid);
+            // Don't accident undo setting AFK, remove any activity that hasn't been processed.
+            AtomicLong slot = this.activity.get(uuid);
+            if (slot != null) {
+                slot.set(0);
             }
 
             Tuples.NullableTuple<Text, MessageChannel> ttmc = getAFKMessage(player, true);
@@ -195,6 +263,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
             actionEvent(event, "command.afk.to.nobc", "command.afk.to.console");
 
             a.isKnownAfk = true;
+            schedule(a);
             return true;
         }
 
@@ -206,14 +275,14 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         this.config = this.afkConfigAdapter.getNodeOrDefault();
     }
 
-    private AFKData updateActivity(UUID uuid, AFKData data) {
+    private AFKData updateActivity(UUID uuid, AFKData data, long time) {
         List<Object> lo = Lists.newArrayList();
         Sponge.getServer().getPlayer(uuid).ifPresent(lo::add);
-        return updateActivity(uuid, data, CauseStackHelper.createCause(lo));
+        return updateActivity(uuid, data, CauseStackHelper.createCause(lo), time);
     }
 
-    private AFKData updateActivity(UUID uuid, AFKData data, Cause cause) {
-        data.lastActivityTime = System.currentTimeMillis();
+    private AFKData updateActivity(UUID uuid, AFKData data, Cause cause, long time) {
+        data.lastActivityTime = Math.max(data.lastActivityTime, time);
         if (data.isKnownAfk) {
             data.isKnownAfk = false;
             data.willKick = false;
@@ -226,6 +295,8 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
         }
 
+        // Usually a no-op, unless nothing was queued because they were AFK and can't be kicked.
+        schedule(data);
         return data;
     }
 
@@ -261,7 +332,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
     @Override public boolean setAFK(Cause cause, Player player, boolean isAfk) {
         Preconditions.checkArgument(cause.root() instanceof PluginContainer, "The root object MUST be a plugin container.");
-        AFKData data = this.data.computeIfAbsent(player.getUniqueId(), AFKData::new);
+        AFKData data = this.data.computeIfAbsent(player.getUniqueId(), this::newData);
         if (data.isKnownAfk == isAfk) {
             // Already AFK
             return false;
@@ -270,7 +341,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         if (isAfk) {
             return setAfkInternal(player, cause, false);
         } else {
-            return !updateActivity(player.getUniqueId(), data, cause).isKnownAfk;
+            return !updateActivity(player.getUniqueId(), data, cause, System.currentTimeMillis()).isKnownAfk;
         }
     }
 
@@ -279,7 +350,8 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
     }
 
     @Override public Instant lastActivity(Player player) {
-        return Instant.ofEpochMilli(this.data.computeIfAbsent(player.getUniqueId(), AFKData::new).lastActivityTime);
+        AFKData data = this.data.get(player.getUniqueId());
+        return Instant.ofEpochMilli(data == null ? System.currentTimeMillis() : data.lastActivityTime);
     }
 
     @Override public Optional<Duration> timeForInactivity(User user) {
@@ -310,15 +382,16 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
     @Override public NoExceptionAutoClosable disableTrackingForPlayer(final Player player, int ticks) {
         // Disable tracking now with a new UUID.
-        Task n = Task.builder().execute(t -> {
-            synchronized (this.lock2) {
-                this.disabledTracking.remove(player.getUniqueId(), t.getUniqueId());
-            }
-        }).delayTicks(ticks).submit(Nucleus.getNucleus());
-
-        synchronized (this.lock2) {
-            this.disabledTracking.put(player.getUniqueId(), n.getUniqueId());
-        }
+        Task n = Task.builder().execute(t -> this.disabledTracking.computeIfPresent(player.getUniqueId(), (k, v) -> {
+            v.remove(t.getUniqueId());
+            return v.isEmpty() ? null : v;
+        })).delayTicks(ticks).submit(Nucleus.getNucleus());
+
+        this.disabledTracking.compute(player.getUniqueId(), (k, v) -> {
+            Set<UUID> set = v == null ? Sets.newConcurrentHashSet() : v;
+            set.add(n.getUniqueId());
+            return set;
+        });
 
         return () -> {
             n.cancel();
@@ -350,10 +423,28 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
                 .collect(Collectors.toList());
     }
 
+    private static final class Deadline implements Comparable<Deadline> {
+
+        private final long time;
+        private final AFKData data;
+
+        private Deadline(long time, AFKData data) {
+            this.time = time;
+            this.data = data;
+        }
+
+        @Override public int compareTo(Deadline o) {
+            return Long.compare(this.time, o.time);
+        }
+    }
+
     class AFKData {
 
         private final UUID uuid;
 
+        @GuardedBy("deadlines")
+        private long queuedDeadline = Long.MAX_VALUE;
+
         private long lastActivityTime = System.currentTimeMillis();
         boolean isKnownAfk = false;
         private boolean willKick = false;
@@ -373,6 +464,15 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
             }
         }
 
+        // The time after which this player should go AFK or be kicked, if they do nothing.
+        private long getNextDeadline() {
+            if (!this.isKnownAfk) {
+                return this.timeToAfk > 0 ? this.lastActivityTime + this.timeToAfk : Long.MAX_VALUE;
+            }
+
+            return !this.willKick && this.timeToKick > 0 ? this.lastActivityTime + this.timeToKick : Long.MAX_VALUE;
+        }
+
         private boolean canGoAfk() {
             this.cacheValid = false;
             updateFromPermissions();
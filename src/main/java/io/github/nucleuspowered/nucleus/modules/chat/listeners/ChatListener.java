@@ -17,7 +17,7 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
-import io.github.nucleuspowered.nucleus.internal.services.PermissionResolver;
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
@@ -36,13 +36,9 @@ import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.text.transform.SimpleTextFormatter;
 import org.spongepowered.api.text.transform.SimpleTextTemplateApplier;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -57,47 +53,33 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
 
     // Order is important here!
     private static final Map<String, String> permissionToDesc = Maps.newHashMap();
-    private static final Map<String, Tuple<String[], Function<String, String>>> replacements = createReplacements();
+    private static final FormattingCodeFilter formattingCodeFilter = createFormattingCodeFilter();
 
-    private static Map<String, Tuple<String[], Function<String, String>>> createReplacements() {
-        Map<String, Tuple<String[], Function<String, String>>> t = new HashMap<>();
+    private static FormattingCodeFilter createFormattingCodeFilter() {
+        Map<Character, String[]> t = new HashMap<>();
 
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
 
-        BiFunction<String, String, String> fss = (key, s) -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", "");
         NameUtil.getColours().forEach((key, value) -> {
-            t.put("&" + key, Tuple.of(
-                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() },
-                s -> fss.apply(key.toString(), s)));
+            t.put(key, new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() });
 
             permissionToDesc.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
             permissionToDesc.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
         });
 
         NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
-            t.put("&" + k.getKey(), Tuple.of(new String[] { prefix + "style." + k.getValue().toLowerCase() },
-                    s -> fss.apply(k.getKey().toString(), s)));
+            t.put(k.getKey(), new String[] { prefix + "style." + k.getValue().toLowerCase() });
             permissionToDesc.put(prefix + "style." + k.getValue().toLowerCase(),
                 mp.getMessageWithFormat("permission.chat.stylespec", k.getValue().toLowerCase(), k.getKey().toString()));
         });
 
-        t.put("&k", Tuple.of(new String[] { prefix + "magic" }, s -> s.replaceAll("[&]+[kK]", "")));
+        t.put('k', new String[] { prefix + "magic" });
 
-        return t;
+        return new FormattingCodeFilter("chat", (s, p) -> Nucleus.getNucleus().getPermissionResolver().hasPermission(s, p), t);
     }
 
     public static String stripPermissionless(Subject source, String message) {
-        if (message.contains("&")) {
-            String m = message.toLowerCase();
-            PermissionResolver resolver = Nucleus.getNucleus().getPermissionResolver();
-            for (Map.Entry<String, Tuple<String[], Function<String, String>>> r : replacements.entrySet()) {
-                if (m.contains(r.getKey()) && Arrays.stream(r.getValue().getFirst()).noneMatch(x -> resolver.hasPermission(source, x))) {
-                    message = r.getValue().getSecond().apply(message);
-                }
-            }
-        }
-
-        return message;
+        return formattingCodeFilter.strip(source, message);
     }
 
     // --- Listener Proper
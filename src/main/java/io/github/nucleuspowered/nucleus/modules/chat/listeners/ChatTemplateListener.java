@@ -0,0 +1,60 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.listeners;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.UUID;
+
+/**
+ * Keeps the chat template that {@link TemplateUtil} holds for each online
+ * player up to date.
+ */
+public class ChatTemplateListener implements ListenerBase.Conditional {
+
+    private final TemplateUtil templateUtil = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(TemplateUtil.class);
+
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.templateUtil.addPlayer(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.templateUtil.removePlayer(player.getUniqueId());
+    }
+
+    @Listener
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        Subject subject = event.getUpdatedData().getSubject();
+        if (PermissionService.SUBJECTS_USER.equals(subject.getContainingCollection().getIdentifier())) {
+            try {
+                Sponge.getServer().getPlayer(UUID.fromString(subject.getIdentifier())).ifPresent(this.templateUtil::refreshTemplate);
+            } catch (IllegalArgumentException e) {
+                // not a player
+            }
+        } else {
+            // A group changed, which could affect anyone.
+            this.templateUtil.refreshAllTemplates();
+        }
+    }
+
+    @Override public boolean shouldEnable() {
+        return Nucleus.getNucleus().getConfigValue(ChatModule.ID, ChatConfigAdapter.class, ChatConfig::isUseGroupTemplates).orElse(false);
+    }
+}
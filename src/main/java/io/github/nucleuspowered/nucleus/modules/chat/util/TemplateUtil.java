@@ -12,6 +12,8 @@ import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.WeightedChatTemplateConfig;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.service.context.Contextual;
 import org.spongepowered.api.service.permission.Subject;
@@ -26,10 +28,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * Contains the logic for caching templates and the template selection logic.
  */
@@ -37,6 +43,11 @@ public class TemplateUtil implements Reloadable, ServiceBase {
 
     private final AtomicBoolean currentlyReloading = new AtomicBoolean(false);
     private LinkedHashMap<String, WeightedChatTemplateConfig> cachedTemplates = null;
+    // Online players, mapped to the session that holds their template. A new session is started each time a
+    // player joins, so a refresh that completes after they have left can't put a template back for them.
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    // Players whose template is being worked out, mapped to whether another refresh was asked for in the meantime.
+    private final Map<UUID, Boolean> refreshing = new ConcurrentHashMap<>();
     private ChatConfig config
             = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatConfigAdapter.class).getNodeOrDefault();
 
@@ -44,11 +55,98 @@ public class TemplateUtil implements Reloadable, ServiceBase {
         return this.config.getDefaultTemplate();
     }
 
+    /**
+     * Gets the template for the subject. For online players, this is the
+     * template that was last worked out for them, so this usually doesn't
+     * wait on the permission plugin. If it has not been worked out yet, it
+     * is worked out now.
+     *
+     * @param subject The {@link Subject}
+     * @return The {@link ChatTemplateConfig}
+     */
     public ChatTemplateConfig getTemplateNow(Subject subject) {
         if (!this.config.isUseGroupTemplates()) {
             return this.config.getDefaultTemplate();
         }
 
+        if (subject instanceof User && ((User) subject).isOnline()) {
+            Session session = this.sessions.get(((User) subject).getUniqueId());
+            if (session != null) {
+                ChatTemplateConfig template = session.template;
+                if (template == null) {
+                    // The first refresh hasn't finished, so do what it does rather than use the wrong template.
+                    template = resolveTemplate(subject, 100);
+                    session.setIfAbsent(template);
+                }
+
+                return template;
+            }
+        }
+
+        return resolveTemplate(subject, 100);
+    }
+
+    /**
+     * Starts holding a template for a player that has joined, and works it
+     * out off the main thread.
+     *
+     * @param user The player.
+     */
+    public void addPlayer(User user) {
+        this.sessions.put(user.getUniqueId(), new Session());
+        refreshTemplate(user);
+    }
+
+    /**
+     * Stops holding a template for a player that has left. Any refresh for
+     * them that is still running will not store its result.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removePlayer(UUID uuid) {
+        this.sessions.remove(uuid);
+    }
+
+    /**
+     * Works out the template for the player off the main thread. The
+     * template that is currently held for them continues to be used until
+     * this completes. If a refresh is already running, another is run when
+     * it completes, as it may have read permissions that have since changed.
+     * Nothing is done for players that are not being held.
+     *
+     * @param user The player.
+     */
+    public void refreshTemplate(User user) {
+        if (!this.config.isUseGroupTemplates() || !this.sessions.containsKey(user.getUniqueId())
+                || this.refreshing.merge(user.getUniqueId(), Boolean.FALSE, (k, v) -> Boolean.TRUE)) {
+            return;
+        }
+
+        submitRefresh(user);
+    }
+
+    private void submitRefresh(User user) {
+        Task.builder().async().execute(() -> {
+            try {
+                // Only the session that was current when this started is updated, so if the player leaves while
+                // this is running, the template goes nowhere.
+                Session session = this.sessions.get(user.getUniqueId());
+                if (session != null) {
+                    session.set(resolveTemplate(user, 5000));
+                }
+            } finally {
+                if (this.refreshing.compute(user.getUniqueId(), (k, v) -> Boolean.TRUE.equals(v) ? Boolean.FALSE : null) != null) {
+                    submitRefresh(user);
+                }
+            }
+        }).submit(Nucleus.getNucleus());
+    }
+
+    public void refreshAllTemplates() {
+        Sponge.getServer().getOnlinePlayers().forEach(this::refreshTemplate);
+    }
+
+    private ChatTemplateConfig resolveTemplate(Subject subject, long timeout) {
         Optional<String> groupString = subject.getOption("nucleus.chat.group");
         List<String> groups = new ArrayList<>();
         if (groupString.isPresent()) {
@@ -57,7 +155,7 @@ public class TemplateUtil implements Reloadable, ServiceBase {
             // Expensive, should hide behind a switch.
             try {
                 groups = Util.getParentSubjects(subject)
-                    .get(100, TimeUnit.MILLISECONDS)
+                    .get(timeout, TimeUnit.MILLISECONDS)
                     .stream()
                     .map(Contextual::getIdentifier)
                     .collect(Collectors.toList());
@@ -94,6 +192,13 @@ public class TemplateUtil implements Reloadable, ServiceBase {
     public void onReload() {
         try {
             this.config = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatConfigAdapter.class).getNodeOrDefault();
+            if (Sponge.isServerAvailable()) {
+                // Done here, on the main thread, so it can't race with players joining and leaving. This picks up
+                // players that were online before group templates were turned on.
+                this.sessions.keySet().removeIf(x -> !Sponge.getServer().getPlayer(x).isPresent());
+                Sponge.getServer().getOnlinePlayers().forEach(x -> this.sessions.putIfAbsent(x.getUniqueId(), new Session()));
+            }
+
             if (!this.currentlyReloading.get()) {
                 this.currentlyReloading.set(true);
                 // Do this off the main thread to not cause a lockup
@@ -120,6 +225,10 @@ public class TemplateUtil implements Reloadable, ServiceBase {
                         } else {
                             this.cachedTemplates = new LinkedHashMap<>();
                         }
+
+                        if (Sponge.isServerAvailable()) {
+                            refreshAllTemplates();
+                        }
                     } finally {
                         this.currentlyReloading.set(false);
                     }
@@ -130,4 +239,19 @@ public class TemplateUtil implements Reloadable, ServiceBase {
             this.currentlyReloading.set(false);
         }
     }
+
+    private static final class Session {
+
+        @Nullable private volatile ChatTemplateConfig template;
+
+        private synchronized void set(ChatTemplateConfig template) {
+            this.template = template;
+        }
+
+        private synchronized void setIfAbsent(ChatTemplateConfig template) {
+            if (this.template == null) {
+                this.template = template;
+            }
+        }
+    }
 }
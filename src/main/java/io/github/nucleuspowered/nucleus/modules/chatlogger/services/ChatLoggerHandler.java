@@ -28,9 +28,4 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloada
             this.onShutdown();
         }
     }
-
-    @Override
-    protected boolean enabledLog() {
-        return this.enabled;
-    }
 }
@@ -30,13 +30,4 @@ public class CommandLoggerHandler extends AbstractLoggingHandler implements Relo
             this.onShutdown();
         }
     }
-
-    @Override
-    protected boolean enabledLog() {
-        if (this.config == null) {
-            return false;
-        }
-
-        return this.config.isLogToFile();
-    }
 }
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.commandspy.listeners;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
@@ -19,17 +20,28 @@ import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConf
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfigAdapter;
 import io.github.nucleuspowered.nucleus.util.CommandNameCache;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandMapping;
+import org.spongepowered.api.entity.Transform;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.command.SendCommandEvent;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.world.World;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CommandSpyListener implements Reloadable, ListenerBase.Conditional {
 
@@ -40,12 +52,61 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
     private boolean listIsEmpty = true;
     private final UserPreferenceService userPreferenceService;
 
+    // Online players who have permission to spy and have it turned on. Replaced as a whole when everyone is
+    // refreshed, so commands run during a refresh still see the old set rather than an empty one.
+    private volatile Set<UUID> subscribers = Sets.newConcurrentHashSet();
+
+    // Lower case alias -> whether the command it points to is in the list.
+    private final Map<String, Boolean> spiedAliases = new ConcurrentHashMap<>();
+
     public CommandSpyListener() {
         CommandPermissionHandler permissionHandler =
                 Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(CommandSpyCommand.class);
         this.basePermission = permissionHandler.getBase();
         this.exemptTarget = permissionHandler.getPermissionWithSuffix("exempt.target");
         this.userPreferenceService = getServiceUnchecked(UserPreferenceService.class);
+        this.userPreferenceService.onChange(CommandSpyUserPrefKeys.COMMAND_SPY,
+                uuid -> Sponge.getServer().getPlayer(uuid).ifPresent(this::refreshSubscriber));
+    }
+
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        refreshSubscriber(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.subscribers.remove(player.getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldChange(MoveEntityEvent.Teleport event,
+            @Getter("getTargetEntity") Player player,
+            @Getter("getFromTransform") Transform<World> from,
+            @Getter("getToTransform") Transform<World> to) {
+        if (!from.getExtent().getUniqueId().equals(to.getExtent().getUniqueId())) {
+            // The permission may be set per world. The player is only in the new world once the event is done, so
+            // check on the next tick.
+            UUID uuid = player.getUniqueId();
+            Task.builder().execute(() -> Sponge.getServer().getPlayer(uuid).ifPresent(this::refreshSubscriber))
+                    .submit(Nucleus.getNucleus());
+        }
+    }
+
+    @Listener
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        Subject subject = event.getUpdatedData().getSubject();
+        if (PermissionService.SUBJECTS_USER.equals(subject.getContainingCollection().getIdentifier())) {
+            try {
+                Sponge.getServer().getPlayer(UUID.fromString(subject.getIdentifier())).ifPresent(this::refreshSubscriber);
+                return;
+            } catch (IllegalArgumentException e) {
+                // not a player
+            }
+        }
+
+        // A group changed, which could affect anyone.
+        refreshAllSubscribers();
     }
 
     @Listener(order = Order.LAST)
@@ -54,29 +115,24 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
         if (!hasPermission(player, this.exemptTarget)) {
             boolean isInList = false;
             if (!this.listIsEmpty) {
-                String command = event.getCommand().toLowerCase();
-                Set<String> cmd = CommandNameCache.INSTANCE.getFromCommandAndSource(command, player);
-                cmd.retainAll(this.toSpy);
-                isInList = !cmd.isEmpty();
+                isInList = isSpied(event.getCommand().toLowerCase(), player);
             }
 
             // If the command is in the list, report it.
             if (isInList == this.config.isUseWhitelist()) {
                 UUID currentUUID = player.getUniqueId();
-                List<Player> playerList = Sponge.getServer().getOnlinePlayers()
-                    .stream()
-                    .filter(x -> !x.getUniqueId().equals(currentUUID))
-                    .filter(x -> hasPermission(x, this.basePermission))
-                    .filter(x -> this.userPreferenceService.getUnwrapped(x.getUniqueId(), CommandSpyUserPrefKeys.COMMAND_SPY))
-                    .collect(Collectors.toList());
-
-                if (!playerList.isEmpty()) {
+                Set<UUID> subscribers = this.subscribers;
+                if (subscribers.size() > (subscribers.contains(currentUUID) ? 1 : 0)) {
                     Text prefix = this.config.getTemplate().getForCommandSource(player);
                     TextParsingUtils.StyleTuple st = TextParsingUtils.getLastColourAndStyle(prefix, null);
                     Text messageToSend = prefix
                             .toBuilder()
                             .append(Text.of(st.colour, st.style, "/", event.getCommand(), Util.SPACE, event.getArguments())).build();
-                    playerList.forEach(x -> x.sendMessage(messageToSend));
+                    for (UUID uuid : subscribers) {
+                        if (!uuid.equals(currentUUID)) {
+                            Sponge.getServer().getPlayer(uuid).ifPresent(x -> x.sendMessage(messageToSend));
+                        }
+                    }
                 }
             }
         }
@@ -88,6 +144,57 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
             .getNodeOrDefault();
         this.listIsEmpty = this.config.getCommands().isEmpty();
         this.toSpy = this.config.getCommands().stream().map(String::toLowerCase).collect(ImmutableSet.toImmutableSet());
+        this.spiedAliases.clear();
+        refreshAllSubscribers();
+    }
+
+    private boolean isSpied(String command, Player player) {
+        Boolean spied = this.spiedAliases.get(command);
+        if (spied == null) {
+            // Resolved the same way the command manager will, so an alias shared by more than one plugin gives the
+            // command that actually runs. Unknown commands are not stored, so they can't fill the map.
+            Optional<? extends CommandMapping> mapping = Sponge.getCommandManager().get(command, player);
+            if (!mapping.isPresent()) {
+                return false;
+            }
+
+            spied = isSpied(mapping.get());
+            this.spiedAliases.put(command, spied);
+        }
+
+        return spied;
+    }
+
+    private boolean isSpied(CommandMapping mapping) {
+        for (String alias : CommandNameCache.INSTANCE.getLowercase(mapping)) {
+            if (this.toSpy.contains(alias)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void refreshSubscriber(Player player) {
+        if (isSubscriber(player)) {
+            this.subscribers.add(player.getUniqueId());
+        } else {
+            this.subscribers.remove(player.getUniqueId());
+        }
+    }
+
+    private void refreshAllSubscribers() {
+        Set<UUID> newSubscribers = Sets.newConcurrentHashSet();
+        if (Sponge.isServerAvailable()) {
+            Sponge.getServer().getOnlinePlayers().stream().filter(this::isSubscriber).forEach(x -> newSubscribers.add(x.getUniqueId()));
+        }
+
+        this.subscribers = newSubscribers;
+    }
+
+    private boolean isSubscriber(Player player) {
+        return hasPermission(player, this.basePermission)
+                && this.userPreferenceService.getUnwrapped(player.getUniqueId(), CommandSpyUserPrefKeys.COMMAND_SPY);
     }
 
     @Override
@@ -4,8 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.commands;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.DataManager;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
@@ -14,6 +16,11 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionResolverImpl;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import io.github.nucleuspowered.nucleus.logging.AbstractLoggingHandler;
+import io.github.nucleuspowered.nucleus.modules.chatlogger.services.ChatLoggerHandler;
+import io.github.nucleuspowered.nucleus.modules.commandlogger.services.CommandLoggerHandler;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -27,8 +34,12 @@ import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 @Scan
 @NonnullByDefault
 @Permissions(prefix = "nucleus")
@@ -108,4 +119,79 @@ public class DebugCommand extends AbstractCommand<CommandSource> {
             return CommandResult.success();
         }
     }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "cache", subcommandOf = DebugCommand.class)
+    public static class CacheStatsCommand extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            sendStats(src, "command.nucleus.debug.cache.user", Nucleus.getNucleus().getUserDataManager());
+            sendStats(src, "command.nucleus.debug.cache.world", Nucleus.getNucleus().getWorldDataManager());
+            src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.debug.cache.permissions",
+                    String.valueOf(PermissionResolverImpl.INSTANCE.getCacheHits()), String.valueOf(PermissionResolverImpl.INSTANCE.getCacheMisses())));
+            return CommandResult.success();
+        }
+
+        private void sendStats(CommandSource src, String nameKey, DataManager<?, ?, ?> manager) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            CacheStats stats = manager.getCacheStats();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cache.header", provider.getMessageWithFormat(nameKey), String.valueOf(manager.getCacheSize())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cache.hits",
+                    String.valueOf(stats.hitCount()), String.valueOf(stats.missCount()), String.format("%.1f", stats.hitRate() * 100)));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cache.loads",
+                    String.valueOf(stats.loadCount()), String.valueOf(stats.loadFailureCount()),
+                    String.format("%.2f", stats.averageLoadPenalty() / 1000000d)));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cache.evictions",
+                    String.valueOf(stats.evictionCount()), String.valueOf(stats.evictionWeight())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cache.saves",
+                    String.valueOf(manager.getSavesWritten()), String.valueOf(manager.getSavesSkipped())));
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "tokens", subcommandOf = DebugCommand.class)
+    public static class TokenStatsCommand extends AbstractCommand<CommandSource> {
+
+        private static final int MAX_TOKENS = 10;
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            NucleusTokenServiceImpl tokenService = getServiceUnchecked(NucleusTokenServiceImpl.class);
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.tokens.header",
+                    String.valueOf(MAX_TOKENS), String.valueOf(tokenService.getMemoHits())));
+            tokenService.getTokenMetrics().entrySet().stream()
+                    .sorted(Comparator.comparingLong(
+                            (Map.Entry<String, NucleusTokenServiceImpl.TokenMetrics> x) -> x.getValue().getTotalTimeNanos()).reversed())
+                    .limit(MAX_TOKENS)
+                    .forEach(x -> src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.tokens.entry",
+                            x.getKey(),
+                            String.valueOf(x.getValue().getCount()),
+                            String.format("%.2f", x.getValue().getTotalTimeNanos() / 1000000d),
+                            String.format("%.2f", x.getValue().getMaxTimeNanos() / 1000000d))));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "logs", subcommandOf = DebugCommand.class)
+    public static class LogStatsCommand extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            sendStats(src, "command.nucleus.debug.logs.chat", getService(ChatLoggerHandler.class).orElse(null));
+            sendStats(src, "command.nucleus.debug.logs.command", getService(CommandLoggerHandler.class).orElse(null));
+            return CommandResult.success();
+        }
+
+        private void sendStats(CommandSource src, String nameKey, @Nullable AbstractLoggingHandler handler) {
+            if (handler != null) {
+                MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.logs.entry", mp.getMessageWithFormat(nameKey),
+                        String.valueOf(handler.getQueuedCount()), String.valueOf(handler.getWrittenCount()),
+                        String.valueOf(handler.getDroppedCount())));
+            }
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.util.Tuple;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.OWNER)
+@RunAsync
+@NoModifiers
+@RegisterCommand(value = "migratedata", subcommandOf = NucleusCommand.class)
+@NonnullByDefault
+public class MigrateDataCommand extends AbstractCommand<CommandSource> {
+
+    @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) throws Exception {
+        DataProviders dataProviders = Nucleus.getNucleus().getDataProviders();
+        if (dataProviders.isUsingDatabase()) {
+            throw ReturnMessageException.fromKey("command.nucleus.migratedata.active");
+        }
+
+        MessageProvider messageProvider = Nucleus.getNucleus().getMessageProvider();
+        src.sendMessage(messageProvider.getTextMessageWithFormat("command.nucleus.migratedata.start"));
+
+        // Get everything onto the disk first.
+        Nucleus.getNucleus().saveData();
+        Nucleus.getNucleus().getSaveQueue().flushAll();
+
+        Tuple<Integer, Integer> result;
+        try {
+            result = dataProviders.migrateFilesToDatabase();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().error("Could not open the Nucleus database.", e);
+            throw ReturnMessageException.fromKey("command.nucleus.migratedata.fail");
+        }
+
+        src.sendMessage(messageProvider.getTextMessageWithFormat("command.nucleus.migratedata.end",
+                String.valueOf(result.getFirst()), String.valueOf(result.getSecond())));
+        return CommandResult.success();
+    }
+}
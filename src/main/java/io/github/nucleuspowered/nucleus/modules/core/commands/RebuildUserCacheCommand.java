@@ -26,7 +26,7 @@ public class RebuildUserCacheCommand extends AbstractCommand<CommandSource> {
 
     @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
         src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.start"));
-        if (Nucleus.getNucleus().getUserCacheService().fileWalk()) {
+        if (Nucleus.getNucleus().getUserCacheService().fileWalk(src::sendMessage)) {
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.end"));
             return CommandResult.success();
         } else {
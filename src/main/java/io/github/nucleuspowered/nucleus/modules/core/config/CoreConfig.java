@@ -88,6 +88,21 @@ public class CoreConfig {
     @Setting(value = "print-message-when-permission-isnt-registered", comment = "config.core.printMissingPerms")
     private boolean printWhenPermissionIsntRegistered = false;
 
+    @Setting(value = "data-save-max-delay-ms", comment = "config.core.datasavemaxdelay")
+    private long dataSaveMaxDelay = 1000;
+
+    @Setting(value = "use-database-for-player-and-world-data", comment = "config.core.usedatabase")
+    private boolean useDatabase = false;
+
+    @Setting(value = "data-file-backup-interval-minutes", comment = "config.core.backupinterval")
+    private long dataFileBackupInterval = 60;
+
+    @Setting(value = "data-cache", comment = "config.core.datacache")
+    private DataCacheConfig dataCacheConfig = new DataCacheConfig();
+
+    @Setting(value = "remember-token-results-for-a-tick", comment = "config.core.memoisetokens")
+    private boolean memoiseTokensPerTick = false;
+
     public boolean isDebugmode() {
         return this.debugmode;
     }
@@ -179,4 +194,24 @@ public class CoreConfig {
     public boolean isPrintWhenPermissionIsntRegistered() {
         return this.printWhenPermissionIsntRegistered;
     }
+
+    public long getDataSaveMaxDelay() {
+        return this.dataSaveMaxDelay;
+    }
+
+    public boolean isUseDatabase() {
+        return this.useDatabase;
+    }
+
+    public long getDataFileBackupInterval() {
+        return this.dataFileBackupInterval;
+    }
+
+    public DataCacheConfig getDataCacheConfig() {
+        return this.dataCacheConfig;
+    }
+
+    public boolean isMemoiseTokensPerTick() {
+        return this.memoiseTokensPerTick;
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.Objects;
+
+@ConfigSerializable
+public class DataCacheConfig {
+
+    @Setting(value = "max-entries", comment = "config.core.datacache.maxentries")
+    private long maxEntries = 500;
+
+    @Setting(value = "expire-after-access-minutes", comment = "config.core.datacache.expire")
+    private long expireAfterAccess = 0;
+
+    @Setting(value = "weigh-by-data-size", comment = "config.core.datacache.weigh")
+    private boolean weighByDataSize = false;
+
+    @Setting(value = "max-weight", comment = "config.core.datacache.maxweight")
+    private long maxWeight = 50000;
+
+    public long getMaxEntries() {
+        return Math.max(1, this.maxEntries);
+    }
+
+    public long getExpireAfterAccess() {
+        return Math.max(0, this.expireAfterAccess);
+    }
+
+    public boolean isWeighByDataSize() {
+        return this.weighByDataSize;
+    }
+
+    public long getMaxWeight() {
+        return Math.max(1, this.maxWeight);
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DataCacheConfig that = (DataCacheConfig) o;
+        return getMaxEntries() == that.getMaxEntries() && getExpireAfterAccess() == that.getExpireAfterAccess()
+                && this.weighByDataSize == that.weighByDataSize && getMaxWeight() == that.getMaxWeight();
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(getMaxEntries(), getExpireAfterAccess(), this.weighByDataSize, getMaxWeight());
+    }
+}
@@ -63,6 +63,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastLogin(Instant login) {
         this.login = login.toEpochMilli();
+        markDirty();
     }
 
     public Optional<Instant> getLastLogout() {
@@ -76,6 +77,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void setLastLogout(Location<World> location) {
         this.logout = System.currentTimeMillis();
         this.lastLocation = new LocationNode(location);
+        markDirty();
     }
 
     public Optional<LocationNode> getLogoutLocationSafe() {
@@ -109,10 +111,12 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void sendToLocationOnLogin(@Nonnull Location<World> worldLocation) {
         Preconditions.checkNotNull(worldLocation);
         this.locationOnLogin = new LocationNode(worldLocation);
+        markDirty();
     }
 
     public void removeLocationOnLogin() {
         this.locationOnLogin = null;
+        markDirty();
     }
 
     public Optional<String> getLastIp() {
@@ -121,6 +125,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastIp(InetAddress address) {
         this.ipaddress = address.toString();
+        markDirty();
     }
 
     public Optional<String> getLastKnownName() {
@@ -129,6 +134,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastKnownName(String lastKnownName) {
         this.lastKnownName = lastKnownName;
+        markDirty();
     }
 
     public Optional<Instant> getFirstJoin() {
@@ -141,6 +147,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setFirstJoin(Instant firstJoin) {
         this.firstJoin = firstJoin.toEpochMilli();
+        markDirty();
     }
 
 }
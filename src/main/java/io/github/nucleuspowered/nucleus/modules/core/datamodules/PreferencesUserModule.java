@@ -22,6 +22,7 @@ public class PreferencesUserModule extends DataModule<ModularUserService> {
 
     public void set(String key, Object value) {
         this.prefs.put(key, value);
+        markDirty();
     }
 
     @Nullable public Object get(String key) {
@@ -30,6 +31,7 @@ public class PreferencesUserModule extends DataModule<ModularUserService> {
 
     public void remove(String key) {
         this.prefs.remove(key);
+        markDirty();
     }
 
     @Override protected void saveTo(ConfigurationNode node) {
@@ -110,6 +110,7 @@ public class CoreListener implements Reloadable, ListenerBase {
 
             if (Nucleus.getNucleus().isServer()) {
                 c.setLastIp(player.getConnection().getAddress().getAddress());
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(qsu);
             }
 
             // We'll do this bit shortly - after the login events have resolved.
@@ -4,11 +4,13 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.listeners;
 
+import com.flowpowered.math.vector.Vector3d;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
+import org.spongepowered.api.entity.Transform;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
@@ -16,39 +18,49 @@ import org.spongepowered.api.event.command.SendCommandEvent;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.world.World;
 
 public class WarmupListener implements Reloadable, ListenerBase {
 
-    private NucleusWarmupManagerService service = Nucleus.getNucleus().getWarmupManager();
+    private final WarmupManager service = Nucleus.getNucleus().getWarmupManager();
     private WarmupConfig warmupConfig = Nucleus.getNucleus().getWarmupConfig();
 
     @Listener(order = Order.LAST)
     public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
-        // Rotating is OK!
-        if (this.warmupConfig.isOnMove() && !event.getFromTransform().getLocation().equals(event.getToTransform().getLocation())) {
+        // Rotating, or moving within a block, is OK!
+        if (this.warmupConfig.isOnMove() && this.service.hasWarmup(player.getUniqueId())
+                && !isSameBlock(event.getFromTransform(), event.getToTransform())) {
             cancelWarmup(player);
         }
     }
 
     @Listener(order = Order.LAST)
     public void onPlayerCommand(SendCommandEvent event, @Root Player player) {
-        if (this.warmupConfig.isOnCommand()) {
+        if (this.warmupConfig.isOnCommand() && this.service.hasWarmup(player.getUniqueId())) {
             cancelWarmup(player);
         }
     }
 
     @Listener(order = Order.LAST)
     public void onPlayerQuit(ClientConnectionEvent.Disconnect event) {
-        cancelWarmup(event.getTargetEntity());
+        if (this.service.hasWarmup(event.getTargetEntity().getUniqueId())) {
+            cancelWarmup(event.getTargetEntity());
+        }
     }
 
     private void cancelWarmup(Player player) {
-        this.service.cleanup();
         if (this.service.removeWarmup(player.getUniqueId()) && player.isOnline()) {
             player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.cancel"));
         }
     }
 
+    private static boolean isSameBlock(Transform<World> from, Transform<World> to) {
+        Vector3d f = from.getPosition();
+        Vector3d t = to.getPosition();
+        return f.getFloorX() == t.getFloorX() && f.getFloorY() == t.getFloorY() && f.getFloorZ() == t.getFloorZ()
+                && from.getExtent().equals(to.getExtent());
+    }
+
     @Override public void onReload() {
         this.warmupConfig = Nucleus.getNucleus().getWarmupConfig();
     }
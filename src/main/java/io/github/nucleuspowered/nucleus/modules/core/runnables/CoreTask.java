@@ -47,6 +47,11 @@ public class CoreTask implements TaskBase, Reloadable {
 
         if (this.printSave || Nucleus.getNucleus().isDebugMode()) {
             plugin.getLogger().info(plugin.getMessageProvider().getMessageWithFormat("core.savetask.complete"));
+            plugin.getLogger().info(plugin.getMessageProvider().getMessageWithFormat("core.savetask.stats",
+                    String.valueOf(plugin.getUserDataManager().getSavesWritten()),
+                    String.valueOf(plugin.getUserDataManager().getSavesSkipped()),
+                    String.valueOf(plugin.getWorldDataManager().getSavesWritten()),
+                    String.valueOf(plugin.getWorldDataManager().getSavesSkipped())));
         }
     }
 
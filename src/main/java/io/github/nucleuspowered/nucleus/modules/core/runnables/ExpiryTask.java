@@ -2,24 +2,23 @@
  * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
  * at the root of this project for more details.
  */
-package io.github.nucleuspowered.nucleus.modules.teleport.runnables;
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
 
 import io.github.nucleuspowered.nucleus.internal.interfaces.TaskBase;
-import io.github.nucleuspowered.nucleus.modules.teleport.services.TeleportHandler;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
-@SuppressWarnings("ALL")
-public class TeleportTask implements TaskBase {
-
-    private final TeleportHandler handler = getServiceUnchecked(TeleportHandler.class);
+/**
+ * Runs anything that has expired, such as timed mutes and jails.
+ */
+@NonnullByDefault
+public class ExpiryTask implements TaskBase {
 
-    @Override
-    public void accept(Task task) {
-        handler.clearExpired();
-    }
+    private final ExpiryService expiryService = getServiceUnchecked(ExpiryService.class);
 
     @Override
     public boolean isAsync() {
@@ -28,6 +27,11 @@ public class TeleportTask implements TaskBase {
 
     @Override
     public Duration interval() {
-        return Duration.of(2, ChronoUnit.SECONDS);
+        return Duration.of(1, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.expiryService.tick();
     }
 }
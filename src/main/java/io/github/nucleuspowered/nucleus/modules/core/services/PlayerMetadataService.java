@@ -23,6 +23,7 @@ import org.spongepowered.api.world.storage.WorldProperties;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -35,6 +36,10 @@ public class PlayerMetadataService implements NucleusPlayerMetadataService, Serv
             .map(ResultImpl::new);
     }
 
+    @Override public CompletableFuture<Optional<Result>> getUserDataAsync(UUID uuid) {
+        return Nucleus.getNucleus().getUserDataManager().getAsync(uuid, false).thenApply(x -> x.map(ResultImpl::new));
+    }
+
     public class ResultImpl implements Result {
 
         private final User user;
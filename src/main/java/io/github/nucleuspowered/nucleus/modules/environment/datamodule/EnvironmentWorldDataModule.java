@@ -19,5 +19,6 @@ public class EnvironmentWorldDataModule extends DataModule<ModularWorldService>
 
     public void setLockWeather(boolean lockWeather) {
         this.lockWeather = lockWeather;
+        markDirty();
     }
 }
@@ -19,7 +19,13 @@ public class FlyUserDataModule extends DataModule.ReferenceService<ModularUserSe
     }
 
     public boolean isFlying() {
-        getService().getPlayer().ifPresent(player -> this.fly = player.get(Keys.CAN_FLY).orElse(false));
+        getService().getPlayer().ifPresent(player -> {
+            boolean canFly = player.get(Keys.CAN_FLY).orElse(false);
+            if (canFly != this.fly) {
+                this.fly = canFly;
+                markDirty();
+            }
+        });
         return this.fly;
     }
 
@@ -29,5 +35,6 @@ public class FlyUserDataModule extends DataModule.ReferenceService<ModularUserSe
 
     public void setFlying(boolean fly) {
         this.fly = fly;
+        markDirty();
     }
 }
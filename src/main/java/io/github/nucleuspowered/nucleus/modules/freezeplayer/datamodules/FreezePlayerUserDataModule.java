@@ -19,6 +19,7 @@ public class FreezePlayerUserDataModule extends DataModule<ModularUserService> {
 
     public void setFrozen(boolean value) {
         this.isFrozen = value;
+        markDirty();
     }
 
 }
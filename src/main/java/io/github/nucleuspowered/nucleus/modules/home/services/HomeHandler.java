@@ -31,6 +31,7 @@ import org.spongepowered.api.world.World;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @APIService(NucleusHomeService.class)
 public class HomeHandler implements NucleusHomeService, PermissionTrait, ServiceBase {
@@ -45,6 +46,11 @@ public class HomeHandler implements NucleusHomeService, PermissionTrait, Service
 
     }
 
+    @Override public CompletableFuture<List<Home>> getHomesAsync(UUID user) {
+        return Nucleus.getNucleus().getUserDataManager().getAsync(user).thenApply(service ->
+                service.<List<Home>>map(x -> Lists.newArrayList(x.get(HomeUserDataModule.class).getHomes().values())).orElseGet(Lists::newArrayList));
+    }
+
     @Override public Optional<Home> getHome(UUID user, String name) {
         Optional<ModularUserService> service = Nucleus.getNucleus().getUserDataManager().get(user);
         return service.flatMap(modularUserService -> modularUserService.get(HomeUserDataModule.class).getHome(name));
@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.internal.docgen.annotations.EssentialsEq
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.services.IgnoreService;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -34,6 +35,8 @@ import java.util.Map;
 @NonnullByDefault
 public class IgnoreCommand extends AbstractCommand<Player> {
 
+    private final IgnoreService ignoreService = getServiceUnchecked(IgnoreService.class);
+
     @Override
     protected Map<String, PermissionInformation> permissionSuffixesToRegister() {
         Map<String, PermissionInformation> m = Maps.newHashMap();
@@ -64,6 +67,7 @@ public class IgnoreCommand extends AbstractCommand<Player> {
         if (this.permissions.testSuffix(target, "exempt.chat")) {
             // Make sure they are removed.
             inu.removeFromIgnoreList(target.getUniqueId());
+            this.ignoreService.unignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.ignore.exempt", target.getName()));
             return CommandResult.empty();
         }
@@ -73,9 +77,11 @@ public class IgnoreCommand extends AbstractCommand<Player> {
 
         if (ignore) {
             inu.addToIgnoreList(target.getUniqueId());
+            this.ignoreService.ignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.ignore.added", target.getName()));
         } else {
             inu.removeFromIgnoreList(target.getUniqueId());
+            this.ignoreService.unignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.ignore.remove", target.getName()));
         }
 
@@ -25,6 +25,7 @@ public class IgnoreUserDataModule extends DataModule<ModularUserService> {
     public boolean addToIgnoreList(UUID uuid) {
         if (!this.ignoreList.contains(uuid)) {
             this.ignoreList.add(uuid);
+            markDirty();
             return true;
         }
 
@@ -32,7 +33,12 @@ public class IgnoreUserDataModule extends DataModule<ModularUserService> {
     }
 
     public boolean removeFromIgnoreList(UUID uuid) {
-        return this.ignoreList.remove(uuid);
+        if (this.ignoreList.remove(uuid)) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
 }
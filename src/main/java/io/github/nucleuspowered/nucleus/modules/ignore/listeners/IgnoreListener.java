@@ -15,11 +15,14 @@ import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.services.IgnoreService;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.event.message.MessageChannelEvent;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.channel.MutableMessageChannel;
@@ -27,12 +30,32 @@ import org.spongepowered.api.text.channel.MutableMessageChannel;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 public class IgnoreListener implements ListenerBase {
 
     private final UserDataManager loader = Nucleus.getNucleus().getUserDataManager();
+    private final IgnoreService ignoreService = getServiceUnchecked(IgnoreService.class);
     private CommandPermissionHandler ignoreHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(IgnoreCommand.class);
 
+    @Listener(order = Order.EARLY)
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        try {
+            this.loader.get(player).ifPresent(x ->
+                    this.ignoreService.load(player.getUniqueId(), x.get(IgnoreUserDataModule.class).getIgnoreList()));
+        } catch (Exception e) {
+            if (Nucleus.getNucleus().isDebugMode()) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Listener(order = Order.LAST)
+    public void onLeave(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.ignoreService.unload(player.getUniqueId());
+    }
+
     @Listener(order = Order.LATE)
     public void onChat(MessageChannelEvent.Chat event) {
         if (event.getChannel().orElseGet(event::getOriginalChannel) instanceof NucleusNoIgnoreChannel) {
@@ -55,9 +78,7 @@ public class IgnoreListener implements ListenerBase {
     public void onMessage(NucleusMessageEvent event, @Root Player player) {
         if (event.getRecipient() instanceof User) {
             try {
-                event.setCancelled(this.loader.getUnchecked((User) event.getRecipient())
-                        .get(IgnoreUserDataModule.class)
-                        .getIgnoreList().contains(player.getUniqueId()));
+                event.setCancelled(this.ignoreService.isIgnoring(((User) event.getRecipient()).getUniqueId(), player.getUniqueId()));
             } catch (Exception e) {
                 if (Nucleus.getNucleus().isDebugMode()) {
                     e.printStackTrace();
@@ -69,9 +90,7 @@ public class IgnoreListener implements ListenerBase {
     @Listener(order = Order.FIRST)
     public void onMail(NucleusMailEvent event, @Root Player player) {
         try {
-            event.setCancelled(this.loader.getUnchecked(event.getRecipient())
-                    .get(IgnoreUserDataModule.class)
-                    .getIgnoreList().contains(player.getUniqueId()));
+            event.setCancelled(this.ignoreService.isIgnoring(event.getRecipient().getUniqueId(), player.getUniqueId()));
         } catch (Exception e) {
             if (Nucleus.getNucleus().isDebugMode()) {
                 e.printStackTrace();
@@ -87,35 +106,19 @@ public class IgnoreListener implements ListenerBase {
      * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s to remove
      */
     private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
-        if (this.ignoreHandler.testSuffix(player, "exempt.chat")) {
+        // Most of the time, nobody is ignoring the sender, so there's nothing to look at.
+        Set<UUID> ignorers = this.ignoreService.getOnlineIgnorers(player.getUniqueId());
+        if (ignorers.isEmpty() || this.ignoreHandler.testSuffix(player, "exempt.chat")) {
             return Optional.empty();
         }
 
-        List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                if (!(x instanceof Player)) {
-                    // Remove if not a player.
-                    return true;
-                }
-
-                if (x.equals(player)) {
-                    // Remove if the same player.
-                    return true;
-                }
-
-                // Don't remove if they are in the list.
-                return !this.loader.get((Player) x).map(y ->
-                        y.get(IgnoreUserDataModule.class).getIgnoreList().contains(player.getUniqueId())).orElse(false);
-            } catch (Exception e) {
-                if (Nucleus.getNucleus().isDebugMode()) {
-                    e.printStackTrace();
-                }
-
-                // Remove them.
-                return true;
+        List<MessageReceiver> list = Lists.newArrayList();
+        for (MessageReceiver x : collection) {
+            // Only players who are in the list, and not the sender.
+            if (x instanceof Player && !x.equals(player) && ignorers.contains(((Player) x).getUniqueId())) {
+                list.add(x);
             }
-        });
+        }
 
         // We do this so we don't have to recreate a channel if nothing changes.
         if (list.isEmpty()) {
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.services;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the ignore lists of online players in memory, along with the reverse
+ * lookup from a player to the online players who are ignoring them, so that
+ * messages can be filtered without going to the user data.
+ */
+public class IgnoreService implements ServiceBase {
+
+    // Online player -> who they ignore
+    private final Map<UUID, Set<UUID>> ignoring = new ConcurrentHashMap<>();
+
+    // Player -> online players who ignore them
+    private final Map<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an online player's ignore list to the index.
+     *
+     * @param player The player
+     * @param ignoreList Who they are ignoring
+     */
+    public void load(UUID player, Collection<UUID> ignoreList) {
+        unload(player);
+        Set<UUID> set = Sets.newConcurrentHashSet(ignoreList);
+        this.ignoring.put(player, set);
+        set.forEach(x -> addIgnoredBy(x, player));
+    }
+
+    /**
+     * Removes a player's ignore list from the index, normally when they log out.
+     *
+     * @param player The player
+     */
+    public void unload(UUID player) {
+        Set<UUID> set = this.ignoring.remove(player);
+        if (set != null) {
+            set.forEach(x -> removeIgnoredBy(x, player));
+        }
+    }
+
+    public void ignore(UUID player, UUID target) {
+        Set<UUID> set = this.ignoring.get(player);
+        if (set != null) {
+            set.add(target);
+            addIgnoredBy(target, player);
+        }
+    }
+
+    public void unignore(UUID player, UUID target) {
+        Set<UUID> set = this.ignoring.get(player);
+        if (set != null) {
+            set.remove(target);
+            removeIgnoredBy(target, player);
+        }
+    }
+
+    /**
+     * Gets the online players who are ignoring the given player.
+     *
+     * @param target The player
+     * @return The {@link UUID}s of the players ignoring them.
+     */
+    public Set<UUID> getOnlineIgnorers(UUID target) {
+        Set<UUID> set = this.ignoredBy.get(target);
+        return set == null ? ImmutableSet.of() : set;
+    }
+
+    /**
+     * Gets whether the player is ignoring the target, using the index if the
+     * player is online, and their data otherwise.
+     *
+     * @param player The player
+     * @param target The potentially ignored player
+     * @return <code>true</code> if so
+     */
+    public boolean isIgnoring(UUID player, UUID target) {
+        Set<UUID> set = this.ignoring.get(player);
+        if (set != null) {
+            return set.contains(target);
+        }
+
+        return Nucleus.getNucleus().getUserDataManager().get(player)
+                .map(x -> x.get(IgnoreUserDataModule.class).getIgnoreList().contains(target)).orElse(false);
+    }
+
+    // Both done inside compute, so that an add can't go to a set that is being removed.
+    private void addIgnoredBy(UUID target, UUID player) {
+        this.ignoredBy.compute(target, (k, v) -> {
+            Set<UUID> set = v == null ? Sets.newConcurrentHashSet() : v;
+            set.add(player);
+            return set;
+        });
+    }
+
+    private void removeIgnoredBy(UUID target, UUID player) {
+        this.ignoredBy.computeIfPresent(target, (k, v) -> {
+            v.remove(player);
+            return v.isEmpty() ? null : v;
+        });
+    }
+}
@@ -27,6 +27,7 @@ public class InvulnerabilityUserDataModule extends DataModule.ReferenceService<M
 
     public void setInvulnerable(boolean invulnerable) {
         this.invulnerable = invulnerable;
+        markDirty();
 
         if (invulnerable) {
             getService().getPlayer().ifPresent(x -> this.previousHungerValue = x.get(Keys.FOOD_LEVEL).orElse(20));
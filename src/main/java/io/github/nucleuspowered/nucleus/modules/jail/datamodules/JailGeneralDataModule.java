@@ -31,11 +31,21 @@ public class JailGeneralDataModule extends LocationDataModule<ModularGeneralServ
     }
 
     public boolean addJail(String name, Location<World> loc, Vector3d rot) {
-        return addLocation(name, loc, rot, this.jails);
+        if (addLocation(name, loc, rot, this.jails)) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public boolean removeJail(String name) {
-        return removeLocation(name, this.jails);
+        if (removeLocation(name, this.jails)) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
 }
@@ -137,6 +137,7 @@ public class JailListener implements Reloadable, ListenerBase {
             if (omd.isPresent()) {
                 JailData md = omd.get();
                 md.nextLoginToTimestamp();
+                qs.setJailData(md);
 
                 if (md.expired()) {
                     // free.
@@ -144,11 +145,17 @@ public class JailListener implements Reloadable, ListenerBase {
                 } else {
                     // ensure jailing is current
                     this.handler.onJail(md, event.getTargetEntity());
+                    this.handler.scheduleExpiry(event.getTargetEntity(), md);
                 }
             }
         }).submit(Nucleus.getNucleus());
     }
 
+    @Listener
+    public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.handler.cancelExpiry(player.getUniqueId());
+    }
+
     @Listener
     public void onRequestSent(NucleusTeleportEvent.Request event, @Root Player cause, @Getter("getTargetEntity") Player player) {
         if (this.handler.isPlayerJailed(cause)) {
@@ -20,6 +20,7 @@ import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.fly.datamodules.FlyUserDataModule;
@@ -33,6 +34,7 @@ import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
@@ -54,12 +56,34 @@ import java.util.UUID;
 @APIService(NucleusJailService.class)
 public class JailHandler implements NucleusJailService, ContextCalculator<Subject>, ServiceBase {
 
+    private static final String EXPIRY_TYPE = "jail";
+
     private final ModularGeneralService store = Nucleus.getNucleus().getGeneralService();
+    private final ExpiryService expiryService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ExpiryService.class);
 
     // Used for the context calculator
     private final Map<UUID, Context> jailDataCache = Maps.newHashMap();
     private final static Context jailContext = new Context(NucleusJailService.JAILED_CONTEXT, "true");
 
+    /**
+     * Releases the player when their sentence ends, if it has an end time and
+     * they stay online.
+     *
+     * @param player The {@link Player}
+     * @param data The {@link JailData}
+     */
+    public void scheduleExpiry(Player player, JailData data) {
+        UUID uuid = player.getUniqueId();
+        data.getEndTimestamp().ifPresent(end -> this.expiryService.schedule(EXPIRY_TYPE, uuid, end,
+                () -> Sponge.getServer().getPlayer(uuid)
+                        .filter(x -> getPlayerJailDataInternal(x).map(EndTimestamp::expired).orElse(false))
+                        .ifPresent(x -> unjailPlayer(x, Cause.of(EventContext.empty(), Nucleus.getNucleus())))));
+    }
+
+    public void cancelExpiry(UUID uuid) {
+        this.expiryService.cancel(EXPIRY_TYPE, uuid);
+    }
+
     private JailGeneralDataModule getModule() {
         return this.store.get(JailGeneralDataModule.class);
     }
@@ -152,7 +176,9 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         }
 
         jailUserDataModule.setJailData(data);
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         if (user.isOnline()) {
+            scheduleExpiry(user.getPlayer().get(), data);
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
                 Player player = user.getPlayer().get();
                 Nucleus.getNucleus().getTeleportHandler().teleportPlayer(player, owl.get().getLocation().get(), owl.get().getRotation(),
@@ -190,6 +216,7 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
         Optional<Location<World>> ow = ojd.get().getPreviousLocation();
         this.jailDataCache.put(user.getUniqueId(), null);
+        cancelExpiry(user.getUniqueId());
         if (user.isOnline()) {
             Player player = user.getPlayer().get();
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
@@ -198,12 +225,14 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
                 // Remove after the teleport for the back data.
                 jailUserDataModule.removeJailData();
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
             });
         } else {
             modularUserService.get(CoreUserDataModule.class).sendToLocationOnLogin(
                     ow.orElseGet(() -> new Location<>(Sponge.getServer().getWorld(Sponge.getServer().getDefaultWorld().get().getUniqueId()).get(),
                             Sponge.getServer().getDefaultWorld().get().getSpawnPosition())));
             jailUserDataModule.removeJailData();
+            Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         }
 
         Sponge.getEventManager().post(new JailEvent.Unjailed(user, cause));
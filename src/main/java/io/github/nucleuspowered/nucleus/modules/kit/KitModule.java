@@ -21,6 +21,6 @@ public class KitModule extends ConfigurableModule<KitConfigAdapter> {
     }
 
     @Override protected void setPermissionPredicates() {
-        PermissionResolverImpl.INSTANCE.registerPermissionPredicate(perm -> perm.toLowerCase().startsWith("nucleus.kits."), SuggestedLevel.ADMIN);
+        PermissionResolverImpl.INSTANCE.registerPermissionPrefix("nucleus.kits.", SuggestedLevel.ADMIN);
     }
 }
@@ -30,9 +30,12 @@ public class KitUserDataModule extends DataModule<ModularUserService> {
 
     public void addKitLastUsedTime(String kitName, Instant lastTime) {
         this.kitLastUsedTime.put(kitName.toLowerCase(), lastTime.getEpochSecond());
+        markDirty();
     }
 
     public void removeKitLastUsedTime(String kitName) {
-        this.kitLastUsedTime.remove(kitName.toLowerCase());
+        if (this.kitLastUsedTime.remove(kitName.toLowerCase()) != null) {
+            markDirty();
+        }
     }
 }
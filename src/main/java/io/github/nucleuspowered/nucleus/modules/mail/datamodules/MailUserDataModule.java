@@ -29,15 +29,22 @@ public class MailUserDataModule extends DataModule<ModularUserService> {
         }
 
         this.mailDataList.add(mailData);
+        markDirty();
     }
 
     public boolean removeMail(MailMessage mailData) {
-        return this.mailDataList.removeIf(x -> x.equals(mailData));
+        if (this.mailDataList.removeIf(x -> x.equals(mailData))) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public boolean clearMail() {
         if (!this.mailDataList.isEmpty()) {
             this.mailDataList.clear();
+            markDirty();
             return true;
         } else {
             return false;
@@ -23,6 +23,7 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -34,9 +35,17 @@ public class MailHandler implements NucleusMailService, ServiceBase {
         return Lists.newArrayList(getMailInternal(player, filters));
     }
 
+    @Override
+    public final CompletableFuture<List<MailMessage>> getMailAsync(User player, MailFilter... filters) {
+        return Nucleus.getNucleus().getUserDataManager().getAsync(player.getUniqueId()).thenApply(x ->
+                Lists.newArrayList(filterMail(x.orElseThrow(NullPointerException::new).get(MailUserDataModule.class), filters)));
+    }
+
     public final List<MailData> getMailInternal(User player, MailFilter... filters) {
-        MailUserDataModule iqsu = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(MailUserDataModule.class);
+        return filterMail(Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(MailUserDataModule.class), filters);
+    }
 
+    private List<MailData> filterMail(MailUserDataModule iqsu, MailFilter... filters) {
         List<MailData> lmd = iqsu.getMail();
         if (filters.length == 0 || lmd.isEmpty()) {
             return Lists.newArrayList(lmd);
@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
@@ -66,7 +67,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
     private final CommandPermissionHandler messagepermissions;
     private final CommandPermissionHandler socialspypermissions;
 
-    private final Map<String[], Function<String, String>> replacements = createReplacements();
+    private final FormattingCodeFilter formattingCodeFilter;
     private final Map<UUID, UUID> messagesReceived = Maps.newHashMap();
     private final Map<UUID, CustomMessageTarget<? extends CommandSource>> targets = Maps.newHashMap();
     private final Map<String, UUID> targetNames = Maps.newHashMap();
@@ -84,6 +85,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         this.mca = nucleus.getModuleContainer().getConfigAdapterForModule(MessageModule.ID, MessageConfigAdapter.class);
         this.messagepermissions = nucleus.getPermissionRegistry().getPermissionsForNucleusCommand(MessageCommand.class);
         this.socialspypermissions = nucleus.getPermissionRegistry().getPermissionsForNucleusCommand(SocialSpyCommand.class);
+        this.formattingCodeFilter = createFormattingCodeFilter();
         onReload();
     }
 
@@ -413,24 +415,21 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         return TextParsingUtils.joinTextsWithColoursFlowing(template.getForCommandSource(sender, tokens, variables), message);
     }
 
-    private Map<String[], Function<String, String>> createReplacements() {
-        Map<String[], Function<String, String>> t = new HashMap<>();
+    private FormattingCodeFilter createFormattingCodeFilter() {
+        Map<Character, String[]> t = new HashMap<>();
 
-        t.put(new String[] { "colour", "color" }, s -> s.replaceAll("&[0-9a-fA-F]", ""));
-        t.put(new String[] { "style" }, s -> s.replaceAll("&[l-oL-O]", ""));
-        t.put(new String[] { "magic" }, s -> s.replaceAll("&[kK]", ""));
+        String[] colour = new String[] { "colour", "color" };
+        "0123456789abcdef".chars().forEach(x -> t.put((char) x, colour));
+        String[] style = new String[] { "style" };
+        "lmno".chars().forEach(x -> t.put((char) x, style));
+        t.put('k', new String[] { "magic" });
 
-        return t;
+        return new FormattingCodeFilter("message", this.messagepermissions::testSuffix, t);
     }
 
     private Text useMessage(CommandSource player, String m) {
-        for (Map.Entry<String[],  Function<String, String>> r : this.replacements.entrySet()) {
-            // If we don't have the required permission...
-            if (Arrays.stream(r.getKey()).noneMatch(x -> this.messagepermissions.testSuffix(player, x))) {
-                // ...strip the codes.
-                m = r.getValue().apply(m);
-            }
-        }
+        // Strip the codes we don't have the required permission for.
+        m = this.formattingCodeFilter.strip(player, m);
 
         Text result;
         if (this.messagepermissions.testSuffix(player, "url")) {
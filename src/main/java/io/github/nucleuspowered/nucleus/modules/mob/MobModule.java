@@ -22,6 +22,6 @@ public class MobModule extends ConfigurableModule<MobConfigAdapter> {
 
     @Override
     protected void setPermissionPredicates() {
-        PermissionResolverImpl.INSTANCE.registerPermissionPredicate(perm -> perm.toLowerCase().startsWith("nucleus.spawnmob.mobs."), SuggestedLevel.ADMIN);
+        PermissionResolverImpl.INSTANCE.registerPermissionPrefix("nucleus.spawnmob.mobs.", SuggestedLevel.ADMIN);
     }
 }
@@ -42,6 +42,9 @@ public class CheckMutedCommand extends AbstractCommand<CommandSource> {
             return CommandResult.success();
         }
 
+        // Names include nicknames from the user data, so load that in one go rather than a user at a time.
+        Nucleus.getNucleus().getUserDataManager().getAllAsync(usersInMute, false).join();
+
         // Get the users in this jail, or all jails
         Util.getPaginationBuilder(src)
             .title(provider.getTextMessageWithFormat("command.checkmuted.header"))
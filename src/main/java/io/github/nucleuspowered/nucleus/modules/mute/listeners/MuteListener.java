@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.modules.mute.commands.VoiceCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfig;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
+import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.services.MuteHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -54,14 +55,21 @@ public class MuteListener implements Reloadable, ListenerBase {
             if (omd.isPresent()) {
                 MuteData md = omd.get();
                 md.nextLoginToTimestamp();
+                Nucleus.getNucleus().getUserDataManager().get(user).ifPresent(x -> x.get(MuteUserDataModule.class).setMuteData(md));
 
                 if (isMuted(user)) {
                     this.handler.onMute(md, event.getTargetEntity());
+                    this.handler.scheduleExpiry(user, md);
                 }
             }
         }).submit(Nucleus.getNucleus());
     }
 
+    @Listener
+    public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.handler.cancelExpiry(player.getUniqueId());
+    }
+
     @Listener(order = Order.LATE)
     public void onChat(MessageChannelEvent.Chat event) {
         Util.onPlayerSimulatedOrPlayer(event, this::onChat);
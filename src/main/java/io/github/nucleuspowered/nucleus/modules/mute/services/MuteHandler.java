@@ -15,7 +15,9 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
+import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
 import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
@@ -44,7 +46,10 @@ import javax.annotation.Nullable;
 @APIService(NucleusMuteService.class)
 public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteService, MessageProviderTrait, ServiceBase {
 
+    private static final String EXPIRY_TYPE = "mute";
+
     private final UserDataManager ucl;
+    private final ExpiryService expiryService;
 
     private final Map<UUID, Boolean> muteContextCache = Maps.newHashMap();
     private final Context mutedContext = new Context(NucleusMuteService.MUTED_CONTEXT, "true");
@@ -54,6 +59,26 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
     public MuteHandler() {
         this.ucl = Nucleus.getNucleus().getUserDataManager();
+        this.expiryService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ExpiryService.class);
+    }
+
+    /**
+     * Unmutes the player when their mute ends, if it has an end time and they
+     * stay online.
+     *
+     * @param player The {@link Player}
+     * @param md The {@link MuteData}
+     */
+    public void scheduleExpiry(Player player, MuteData md) {
+        UUID uuid = player.getUniqueId();
+        md.getEndTimestamp().ifPresent(end -> this.expiryService.schedule(EXPIRY_TYPE, uuid, end,
+                () -> Sponge.getServer().getPlayer(uuid)
+                        .filter(x -> getPlayerMuteData(x).map(EndTimestamp::expired).orElse(false))
+                        .ifPresent(this::unmutePlayer)));
+    }
+
+    public void cancelExpiry(UUID uuid) {
+        this.expiryService.cancel(EXPIRY_TYPE, uuid);
     }
 
     public void onMute(Player user) {
@@ -111,6 +136,8 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
         u.get(MuteUserDataModule.class).setMuteData(data);
         this.muteContextCache.put(u.getUniqueId(), true);
+        user.getPlayer().ifPresent(x -> scheduleExpiry(x, data));
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(u);
         Sponge.getEventManager().post(new MuteEvent.Muted(
                 cause,
                 user,
@@ -133,6 +160,8 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
             if (o.isPresent()) {
                 o.get().get(MuteUserDataModule.class).removeMuteData();
                 this.muteContextCache.put(user.getUniqueId(), false);
+                cancelExpiry(user.getUniqueId());
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(o.get());
                 Sponge.getEventManager().post(new MuteEvent.Unmuted(
                         cause,
                         user,
@@ -17,6 +17,7 @@ import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.text.FormattingCodeFilter;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
 import io.github.nucleuspowered.nucleus.modules.nickname.NicknameModule;
 import io.github.nucleuspowered.nucleus.modules.nickname.commands.NicknameCommand;
@@ -36,14 +37,12 @@ import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Matcher;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -56,7 +55,8 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
     private Pattern pattern;
     private int min = 3;
     private int max = 16;
-    private final Map<String[], Tuple<Matcher, Text>> replacements = Maps.newHashMap();
+    @Nullable private FormattingCodeFilter formattingCodeFilter = null;
+    private final Map<Character, Text> formattingCodeErrors = Maps.newHashMap();
     private boolean registered = false;
     private final BiMap<UUID, String> cache = HashBiMap.create();
     private final BiMap<UUID, Text> textCache = HashBiMap.create();
@@ -111,19 +111,21 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
         String colPerm = permissions.getPermissionWithSuffix("colour.");
         String colPerm2 = permissions.getPermissionWithSuffix("color.");
 
-        NameUtil.getColours().forEach((key, value) -> this.replacements.put(new String[]{colPerm + value.getName(), colPerm2 + value.getName()},
-                Tuple.of(Pattern.compile("[&]+" + key.toString().toLowerCase(), Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.colour.nopermswith", value.getName()))));
+        Map<Character, String[]> codePermissions = Maps.newHashMap();
+        NameUtil.getColours().forEach((key, value) -> {
+            codePermissions.put(key, new String[] { colPerm + value.getName(), colPerm2 + value.getName() });
+            this.formattingCodeErrors.put(key, mp.getTextMessageWithFormat("command.nick.colour.nopermswith", value.getName()));
+        });
 
         String stylePerm = permissions.getPermissionWithSuffix("style.");
-        NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> this.replacements
-                .put(new String[] { stylePerm + k.getValue().toLowerCase() },
-                Tuple.of(Pattern.compile("[&]+" + k.getKey().toString().toLowerCase(), Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.style.nopermswith", k.getValue().toLowerCase()))));
-
-        this.replacements.put(new String[] { permissions.getPermissionWithSuffix("magic") },
-                Tuple.of(Pattern.compile("[&]+k", Pattern.CASE_INSENSITIVE).matcher(""),
-                        mp.getTextMessageWithFormat("command.nick.style.nopermswith", "magic")));
+        NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
+            codePermissions.put(k.getKey(), new String[] { stylePerm + k.getValue().toLowerCase() });
+            this.formattingCodeErrors.put(k.getKey(), mp.getTextMessageWithFormat("command.nick.style.nopermswith", k.getValue().toLowerCase()));
+        });
+
+        codePermissions.put('k', new String[] { permissions.getPermissionWithSuffix("magic") });
+        this.formattingCodeErrors.put('k', mp.getTextMessageWithFormat("command.nick.style.nopermswith", "magic"));
+        this.formattingCodeFilter = new FormattingCodeFilter("nickname", this::hasPermission, codePermissions);
         this.registered = true;
     }
 
@@ -140,6 +142,21 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
         return Nucleus.getNucleus().getUserDataManager().get(user).map(x -> x.get(NicknameUserDataModule.class).getNicknameAsText().orElse(null));
     }
 
+    @Override
+    public CompletableFuture<Optional<Text>> getNicknameWithPrefixAsync(User user) {
+        return getNicknameAsync(user).thenApply(x -> x.map(y -> Text.join(this.prefix, y)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Text>> getNicknameAsync(User user) {
+        if (user.isOnline()) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(this.textCache.get(user.getUniqueId())));
+        }
+
+        return Nucleus.getNucleus().getUserDataManager().getAsync(user.getUniqueId())
+                .thenApply(x -> x.flatMap(y -> y.get(NicknameUserDataModule.class).getNicknameAsText()));
+    }
+
     @Override
     public void setNickname(User user, @Nullable Text nickname, boolean bypassRestrictions) throws NicknameException {
         Cause cause = Sponge.getCauseStackManager().getCurrentCause();
@@ -290,15 +307,14 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
     }
 
     private void stripPermissionless(Subject source, Text message) throws NicknameException {
-        String m = TextSerializers.FORMATTING_CODE.serialize(message);
-        if (m.contains("&")) {
-            for (Map.Entry<String[], Tuple<Matcher, Text>> r : this.replacements.entrySet()) {
-                // If we don't have the required permission...
-                if (r.getValue().getFirst().reset(m).find() && Arrays.stream(r.getKey()).noneMatch(x -> hasPermission(source, x))) {
-                    // throw
-                    throw new NicknameException(r.getValue().getSecond(), NicknameException.Type.INVALID_STYLE_OR_COLOUR);
-                }
-            }
+        if (this.formattingCodeFilter == null) {
+            return;
+        }
+
+        // If we don't have the required permission, throw
+        Optional<Character> code = this.formattingCodeFilter.getFirstDisallowedCode(source, TextSerializers.FORMATTING_CODE.serialize(message));
+        if (code.isPresent()) {
+            throw new NicknameException(this.formattingCodeErrors.get(code.get()), NicknameException.Type.INVALID_STYLE_OR_COLOUR);
         }
     }
 
@@ -8,6 +8,7 @@ import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.argumentparsers.RegexArgument;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
@@ -30,6 +31,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Permissions
+@RunAsync
 @RegisterCommand("getfromip")
 @NonnullByDefault
 public class GetFromIpCommand extends AbstractCommand<CommandSource> {
@@ -57,6 +59,9 @@ public class GetFromIpCommand extends AbstractCommand<CommandSource> {
             return CommandResult.success();
         }
 
+        // Names include nicknames from the user data, so load that in one go rather than a user at a time.
+        Nucleus.getNucleus().getUserDataManager().getAllAsync(users.stream().map(User::getUniqueId).collect(Collectors.toList()), false).join();
+
         NameUtil name = Nucleus.getNucleus().getNameUtil();
         Util.getPaginationBuilder(src).title(getMessageFor(src, "command.getfromip.title", ip))
                 .contents(
@@ -36,14 +36,17 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertool(ItemType type, List<String> commands) {
         this.powertools.put(type.getId(), commands);
+        markDirty();
     }
 
     public void clearPowertool(ItemType type) {
-        this.powertools.remove(type.getId());
+        clearPowertool(type.getId());
     }
 
     public void clearPowertool(String type) {
-        this.powertools.remove(type);
+        if (this.powertools.remove(type) != null) {
+            markDirty();
+        }
     }
 
 }
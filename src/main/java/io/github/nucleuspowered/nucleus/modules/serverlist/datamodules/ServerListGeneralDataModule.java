@@ -37,6 +37,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
 
     public void setLineOne(@Nullable String lineOne) {
         this.lineOne = lineOne;
+        markDirty();
         this.messageCache = null;
     }
 
@@ -46,6 +47,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
 
     public void setLineTwo(@Nullable String lineTwo) {
         this.lineTwo = lineTwo;
+        markDirty();
         this.messageCache = null;
     }
 
@@ -59,6 +61,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
 
     public void setExpiry(@Nullable Instant expiry) {
         this.expiry = expiry;
+        markDirty();
         this.messageCache = null;
     }
 
@@ -81,5 +84,6 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
         this.lineOne = null;
         this.lineTwo = null;
         this.expiry = null;
+        markDirty();
     }
 }
@@ -21,6 +21,6 @@ public class SpawnModule extends ConfigurableModule<SpawnConfigAdapter> {
     }
 
     @Override protected void setPermissionPredicates() {
-        PermissionResolverImpl.INSTANCE.registerPermissionPredicate(perm -> perm.toLowerCase().startsWith("nucleus.spawn.worlds."), SuggestedLevel.ADMIN);
+        PermissionResolverImpl.INSTANCE.registerPermissionPrefix("nucleus.spawn.worlds.", SuggestedLevel.ADMIN);
     }
 }
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
@@ -41,13 +42,12 @@ import org.spongepowered.api.text.format.TextStyles;
 import org.spongepowered.api.world.World;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -59,7 +59,10 @@ public class TeleportHandler implements MessageProviderTrait, InternalServiceMan
     private boolean useSafeTeleport;
     private boolean useRequestLocation;
     private static boolean isOnlySameDimension;
-    private final Map<UUID, TeleportPrep> ask = new HashMap<>();
+    private static final String EXPIRY_TYPE = "tpa";
+
+    private final Map<UUID, TeleportPrep> ask = new ConcurrentHashMap<>();
+    private final ExpiryService expiryService = getServiceUnchecked(ExpiryService.class);
     private final String acceptPerm = getPermissionHandlerFor(TeleportAcceptCommand.class).getBase();
     private final String denyPerm = getPermissionHandlerFor(TeleportDenyCommand.class).getBase();
 
@@ -95,28 +98,42 @@ public class TeleportHandler implements MessageProviderTrait, InternalServiceMan
     }
 
     public void addAskQuestion(UUID target, TeleportPrep tp) {
-        clearExpired();
         get(target).ifPresent(x -> this.cancel(x, this.refundOnDeny));
         this.ask.put(target, tp);
-    }
-
-    public void clearExpired() {
-        Instant now = Instant.now();
-        this.ask.entrySet().stream().filter(x -> now.isAfter(x.getValue().getExpire())).map(Map.Entry::getKey).collect(Collectors.toList())
-                .forEach(x -> cancel(this.ask.remove(x), this.refundOnDeny));
+        this.expiryService.schedule(EXPIRY_TYPE, target, tp.getExpire(), () -> {
+            if (this.ask.remove(target, tp)) {
+                cancel(tp, this.refundOnDeny);
+            }
+        });
     }
 
     public Optional<TeleportPrep> get(UUID uuid) {
-        clearExpired();
-        return Optional.ofNullable(this.ask.remove(uuid));
+        TeleportPrep tp = removeAsk(uuid);
+        if (tp != null && Instant.now().isAfter(tp.getExpire())) {
+            // Expired, but the expiry service hasn't got to it yet.
+            cancel(tp, this.refundOnDeny);
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(tp);
     }
 
     public boolean remove(UUID uuid) {
-        TeleportPrep tp = this.ask.remove(uuid);
+        TeleportPrep tp = removeAsk(uuid);
         cancel(tp, this.refundOnDeny);
         return tp != null;
     }
 
+    @Nullable
+    private TeleportPrep removeAsk(UUID uuid) {
+        TeleportPrep tp = this.ask.remove(uuid);
+        if (tp != null) {
+            this.expiryService.cancel(EXPIRY_TYPE, uuid);
+        }
+
+        return tp;
+    }
+
     public CommandResult accept(Player player) {
         return accept(player, null) ? CommandResult.success() : CommandResult.empty();
     }
@@ -130,8 +147,8 @@ public class TeleportHandler implements MessageProviderTrait, InternalServiceMan
             }
         }
 
-        if (this.ask.get(player.getUniqueId()) == target) {
-            this.ask.remove(player.getUniqueId());
+        if (this.ask.remove(player.getUniqueId(), target)) {
+            this.expiryService.cancel(EXPIRY_TYPE, player.getUniqueId());
         }
 
         if (target.isExpired()) {
@@ -158,8 +175,8 @@ public class TeleportHandler implements MessageProviderTrait, InternalServiceMan
             }
         }
 
-        if (this.ask.get(player.getUniqueId()) == target) {
-            this.ask.remove(player.getUniqueId());
+        if (this.ask.remove(player.getUniqueId(), target)) {
+            this.expiryService.cancel(EXPIRY_TYPE, player.getUniqueId());
         }
 
         if (target.isExpired()) {
@@ -333,6 +350,7 @@ public class TeleportHandler implements MessageProviderTrait, InternalServiceMan
 
         @Override
         public void accept(Task task) {
+            Nucleus.getNucleus().getWarmupManager().removeCompletedWarmup(this.playerToTeleport.getUniqueId(), task);
             run();
         }
 
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformati
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.warn.data.WarnData;
+import io.github.nucleuspowered.nucleus.modules.warn.datamodules.WarnUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.warn.services.WarnHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -45,6 +46,7 @@ public class WarnListener implements Reloadable, ListenerBase {
     public void onPlayerLogin(final ClientConnectionEvent.Join event) {
         Sponge.getScheduler().createTaskBuilder().async().delay(500, TimeUnit.MILLISECONDS).execute(() -> {
             Player player = event.getTargetEntity();
+            Nucleus.getNucleus().getUserDataManager().get(player).ifPresent(x -> x.get(WarnUserDataModule.class).nextLoginToTimestamp());
             List<WarnData> warnings = this.handler.getWarningsInternal(player, true, false);
             if (warnings != null && !warnings.isEmpty()) {
                 for (WarnData warning : warnings) {
@@ -157,8 +157,8 @@ public class WarnHandler implements NucleusWarningService, Reloadable, ServiceBa
             return false;
         }
 
+        userService.get().get(WarnUserDataModule.class).nextLoginToTimestamp();
         for (WarnData warning : getWarningsInternal(user)) {
-            warning.nextLoginToTimestamp();
 
             if (warning.getEndTimestamp().isPresent() && warning.getEndTimestamp().get().isBefore(Instant.now())) {
                 removeWarning(user, warning);
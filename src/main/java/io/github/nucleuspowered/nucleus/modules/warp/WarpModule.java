@@ -19,7 +19,6 @@ public class WarpModule extends ConfigurableModule<WarpConfigAdapter> {
     }
 
     @Override protected void setPermissionPredicates() {
-        PermissionResolverImpl.INSTANCE.registerPermissionPredicate(
-                perm -> perm.toLowerCase().startsWith("nucleus.warps."), SuggestedLevel.ADMIN);
+        PermissionResolverImpl.INSTANCE.registerPermissionPrefix("nucleus.warps.", SuggestedLevel.ADMIN);
     }
 }
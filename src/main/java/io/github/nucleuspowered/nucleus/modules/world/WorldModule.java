@@ -21,7 +21,7 @@ public class WorldModule extends ConfigurableModule<WorldConfigAdapter> {
 
     @Override
     protected void setPermissionPredicates() {
-        PermissionResolverImpl.INSTANCE.registerPermissionPredicate(perm -> perm.toLowerCase().startsWith("nucleus.worlds."), SuggestedLevel.ADMIN);
+        PermissionResolverImpl.INSTANCE.registerPermissionPrefix("nucleus.worlds.", SuggestedLevel.ADMIN);
     }
 
 }
@@ -31,6 +31,7 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     public WorldgenWorldDataModule setStart(boolean start) {
         this.start = start;
+        markDirty();
         return this;
     }
 
@@ -40,6 +41,7 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     public WorldgenWorldDataModule setSaveTime(long saveTime) {
         this.saveTime = saveTime;
+        markDirty();
         return this;
     }
 
@@ -49,6 +51,7 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     public WorldgenWorldDataModule setTickPercent(int tickPercent) {
         this.tickPercent = tickPercent;
+        markDirty();
         return this;
     }
 
@@ -58,6 +61,7 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     public WorldgenWorldDataModule setTickFreq(int tickFreq) {
         this.tickFreq = tickFreq;
+        markDirty();
         return this;
     }
 
@@ -67,6 +71,7 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     public WorldgenWorldDataModule setAggressive(boolean aggressive) {
         this.aggressive = aggressive;
+        markDirty();
         return this;
     }
 }
@@ -90,4 +90,44 @@ public class ChatUtilTests extends TestBase {
             }
         }
     }
+
+    /**
+     * Tests that the trailing colour code scan gives the same result as the regex it replaced.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class TrailingColourTests {
+
+        private static final Pattern colours = Pattern.compile(".*?(?<colour>(&[0-9a-flmnrok])+)$");
+
+        @Parameterized.Parameters(name = "{index}: Message {0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {""},
+                    {"blag"},
+                    {"&c"},
+                    {"blag &c"},
+                    {"blag &c&l"},
+                    {"&cblag&l&o"},
+                    {"blag &C"},
+                    {"blag &z"},
+                    {"blag &&c"},
+                    {"blag c&c"},
+                    {"blag &"},
+                    {"blag\n&c"},
+                    {"blag\u2028&c"},
+                    {"&c&c\n"}
+            });
+        }
+
+        @Parameterized.Parameter()
+        public String message;
+
+        @Test
+        public void testScanMatchesRegex() {
+            Matcher m = colours.matcher(this.message);
+            String expected = m.matches() ? m.group("colour") : null;
+            Assert.assertEquals(expected, TextParsingUtils.getTrailingColourCodes(this.message));
+        }
+    }
 }
@@ -12,8 +12,10 @@ import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
@@ -157,6 +159,16 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override
+        public DataProviders getDataProviders() {
+            return null;
+        }
+
+        @Override
+        public WriteBehindSaveQueue getSaveQueue() {
+            return null;
+        }
+
         @Override public UserCacheService getUserCacheService() {
             return null;
         }
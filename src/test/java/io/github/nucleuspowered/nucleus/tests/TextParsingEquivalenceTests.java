@@ -0,0 +1,467 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.util.Tuples;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextElement;
+import org.spongepowered.api.text.TextRepresentable;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests that the URL and template parsing in {@link TextParsingUtils} gives
+ * the same output as the split based implementation it replaced, which is
+ * kept here in {@link SplitReference}.
+ */
+public class TextParsingEquivalenceTests {
+
+    private static final Object[][] messages = new Object[][] {
+            {""},
+            {"blag"},
+            {"text with &c colour and no url"},
+            {"http://nucleuspowered.org"},
+            {"&chttp://nucleuspowered.org"},
+            {"hello, please visit http://nucleuspowered.org"},
+            {"hello, please visit http://nucleuspowered.org/docs today"},
+            {"hello, please visit &khttp://nucleuspowered.org/docs &otoday"},
+            {"visit &r&chttp://nucleuspowered.org and google.com &rtoday"},
+            {"a.com b.com c.com"},
+            {"two  spaces  a.com  end"},
+            {"visit {h}http://nucleuspowered.org now"},
+            {"[click here](http://nucleuspowered.org) please"},
+            {"[run](/spawn) or [docs]{h}(nucleuspowered.org/docs) &r done"},
+            {"&a[run]{s}(/warp home) &bthen google.com"},
+            {"multi\nline google.com\n&rnext"}
+    };
+
+    private static TextParsingUtils textParsingUtils;
+    private static SplitReference reference;
+
+    private static void setup() throws Exception {
+        TestBase.testSetup();
+
+        // Keep the text, so that where a message was split shows up in the output.
+        Mockito.when(TextSerializers.FORMATTING_CODE.deserialize(Mockito.anyString()))
+                .thenAnswer(x -> Text.of((String) x.getArguments()[0]));
+        textParsingUtils = new TextParsingUtils();
+        reference = new SplitReference(textParsingUtils);
+    }
+
+    private static void tearDown() {
+        Mockito.when(TextSerializers.FORMATTING_CODE.deserialize(Mockito.anyString())).thenReturn(Text.of("key"));
+    }
+
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class UrlTests {
+
+        @BeforeClass
+        public static void setup() throws Exception {
+            TextParsingEquivalenceTests.setup();
+        }
+
+        @AfterClass
+        public static void tearDown() {
+            TextParsingEquivalenceTests.tearDown();
+        }
+
+        @Parameterized.Parameters(name = "{index}: Message {0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(messages);
+        }
+
+        @Parameterized.Parameter()
+        public String message;
+
+        @Test
+        public void testAddUrlsMatchesSplit() throws Exception {
+            Assert.assertEquals(reference.addUrls(this.message, false), TextParsingUtils.addUrls(this.message, false));
+        }
+
+        @Test
+        public void testAddUrlsWithBlueUnderlineMatchesSplit() throws Exception {
+            Assert.assertEquals(reference.addUrls(this.message, true), TextParsingUtils.addUrls(this.message, true));
+        }
+    }
+
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class TemplateTests {
+
+        @BeforeClass
+        public static void setup() throws Exception {
+            TextParsingEquivalenceTests.setup();
+        }
+
+        @AfterClass
+        public static void tearDown() {
+            TextParsingEquivalenceTests.tearDown();
+        }
+
+        @Parameterized.Parameters(name = "{index}: Message {0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(messages);
+        }
+
+        @Parameterized.Parameter()
+        public String message;
+
+        @Test
+        public void testTemplateFragmentMatchesSplit() throws Exception {
+            Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>> expected =
+                    reference.createTextTemplateFragmentWithLinks(this.message);
+            Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>> actual =
+                    textParsingUtils.createTextTemplateFragmentWithLinks(this.message);
+
+            Assert.assertEquals(expected.getFirst(), actual.getFirst());
+            Assert.assertEquals(expected.getSecond().map(Map::size), actual.getSecond().map(Map::size));
+        }
+    }
+
+    /**
+     * Messages that the split based implementation got wrong: it lost or
+     * repeated text, because the split was anchored differently to the
+     * matcher, or did not ignore case. Nothing should be lost or repeated now.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class SplitDifferenceTests {
+
+        @BeforeClass
+        public static void setup() throws Exception {
+            TextParsingEquivalenceTests.setup();
+        }
+
+        @AfterClass
+        public static void tearDown() {
+            TextParsingEquivalenceTests.tearDown();
+        }
+
+        @Parameterized.Parameters(name = "{index}: Message {0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {"[a](/c1)[b](/c2) [d](/c3)", new String[] { "", "[b](/c2)", "" }},
+                    {"visit &Chttp://x.com now", new String[] { "visit", " now" }},
+                    {"HTTP://NUCLEUSPOWERED.ORG", new String[] { "", "" }}
+            });
+        }
+
+        @Parameterized.Parameter()
+        public String message;
+
+        @Parameterized.Parameter(1)
+        public String[] plainText;
+
+        @Test
+        public void testTextBetweenLinksIsKeptOnce() {
+            // Each plain piece of text is followed by a link, apart from the last.
+            List<TextRepresentable> texts = textParsingUtils.createTextTemplateFragmentWithLinks(this.message).getFirstUnwrapped();
+            Assert.assertEquals(this.plainText.length * 2 - 1, texts.size());
+            for (int i = 0; i < this.plainText.length; i++) {
+                Assert.assertEquals(Text.of(this.plainText[i]), texts.get(i * 2).toText().getChildren().get(0));
+            }
+        }
+    }
+
+    /**
+     * Tests that walking the tree gives the same colour and style as
+     * flattening it did.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class LastColourAndStyleTests {
+
+        @BeforeClass
+        public static void setup() throws Exception {
+            TestBase.testSetup();
+        }
+
+        @Parameterized.Parameters(name = "{index}: Text {0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {Text.EMPTY},
+                    {Text.of("plain")},
+                    {Text.of(TextColors.RED, "red")},
+                    {Text.of(TextColors.RED, TextStyles.BOLD, "red bold")},
+                    {Text.of(TextColors.RED, "red", Text.of("child"))},
+                    {Text.of(Text.of(TextColors.RED, "red"), Text.of(TextStyles.ITALIC, "italic"))},
+                    {Text.of(Text.of(TextColors.RED, "red"), Text.of(TextColors.BLUE, "blue", Text.of(TextStyles.BOLD, "bold")))},
+                    {Text.of(TextColors.GREEN, Text.of(Text.of("a"), Text.of(TextColors.GOLD, "b", Text.of("c"))), Text.of("d"))},
+                    {Text.of(Text.of(Text.of(Text.of(TextStyles.UNDERLINE, "deep"))))}
+            });
+        }
+
+        @Parameterized.Parameter()
+        public Text text;
+
+        @Test
+        public void testWalkMatchesFlatten() {
+            for (TextParsingUtils.StyleTuple current : Lists.newArrayList(null, TextParsingUtils.getLastColourAndStyle(Text.of(TextColors.AQUA,
+                    TextStyles.STRIKETHROUGH, "x"), null))) {
+                TextParsingUtils.StyleTuple expected = SplitReference.getLastColourAndStyle(this.text, current, TextColors.WHITE, TextStyles.NONE);
+                TextParsingUtils.StyleTuple actual = TextParsingUtils.getLastColourAndStyle(this.text, current, TextColors.WHITE, TextStyles.NONE);
+                Assert.assertSame(expected.colour, actual.colour);
+                Assert.assertEquals(expected.style, actual.style);
+            }
+        }
+    }
+
+    /**
+     * The split based implementation, as it was before the matcher's indices
+     * were used. The parts that did not change are called through reflection.
+     */
+    private static final class SplitReference {
+
+        private static final Pattern urlParser;
+        private static final TextParsingUtils.StyleTuple EMPTY;
+        private static final Constructor<TextParsingUtils.StyleTuple> styleTupleConstructor;
+        private static final Method getTextForUrl;
+        private static final Method getCmd;
+
+        static {
+            try {
+                Field url = TextParsingUtils.class.getDeclaredField("urlParser");
+                url.setAccessible(true);
+                urlParser = (Pattern) url.get(null);
+
+                Field empty = TextParsingUtils.class.getDeclaredField("EMPTY");
+                empty.setAccessible(true);
+                EMPTY = (TextParsingUtils.StyleTuple) empty.get(null);
+
+                styleTupleConstructor = TextParsingUtils.StyleTuple.class.getDeclaredConstructor(TextColor.class, TextStyle.class);
+                styleTupleConstructor.setAccessible(true);
+
+                getTextForUrl = TextParsingUtils.class.getDeclaredMethod("getTextForUrl", String.class, String.class, String.class,
+                        TextParsingUtils.StyleTuple.class, String.class);
+                getTextForUrl.setAccessible(true);
+
+                getCmd = TextParsingUtils.class.getDeclaredMethod("getCmd", String.class, String.class, String.class, String.class);
+                getCmd.setAccessible(true);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static final Pattern colours = Pattern.compile(".*?(?<colour>(&[0-9a-flmnrok])+)$");
+
+        private final TextParsingUtils textParsingUtils;
+        private final Pattern enhancedUrlParser;
+
+        private SplitReference(TextParsingUtils textParsingUtils) throws Exception {
+            this.textParsingUtils = textParsingUtils;
+            Field enhanced = TextParsingUtils.class.getDeclaredField("enhancedUrlParser");
+            enhanced.setAccessible(true);
+            this.enhancedUrlParser = (Pattern) enhanced.get(textParsingUtils);
+        }
+
+        private Text addUrls(String message, boolean replaceBlueUnderline) throws Exception {
+            if (message == null || message.isEmpty()) {
+                return Text.EMPTY;
+            }
+
+            Matcher m = urlParser.matcher(message);
+            if (!m.find()) {
+                return TextSerializers.FORMATTING_CODE.deserialize(message);
+            }
+
+            List<TextElement> texts = Lists.newArrayList();
+            String remaining = message;
+            TextParsingUtils.StyleTuple st = EMPTY;
+            do {
+                String[] textArray = remaining.split(urlParser.pattern(), 2);
+                Text first = Text.builder().color(st.colour).style(st.style)
+                        .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
+                texts.add(first);
+                if (textArray.length == 2) {
+                    remaining = textArray[1];
+                } else {
+                    remaining = null;
+                }
+
+                String colourMatch = m.group("colour");
+                if (replaceBlueUnderline) {
+                    st = styleTupleConstructor.newInstance(TextColors.BLUE, TextStyles.UNDERLINE);
+                } else if (colourMatch != null && !colourMatch.isEmpty()) {
+                    TextStyle reset = TextStyles.NONE;
+                    if (m.group("reset") != null) {
+                        reset = TextStyles.RESET;
+                    }
+
+                    st = getLastColourAndStyle(Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(m.group("colour") + " ")), st,
+                            TextColors.NONE, TextStyles.NONE);
+                } else {
+                    st = getLastColourAndStyle(first, st, TextColors.NONE, TextStyles.NONE);
+                }
+
+                String whiteSpace = m.group("first");
+                if (replaceBlueUnderline) {
+                    st = styleTupleConstructor.newInstance(TextColors.BLUE, TextStyles.UNDERLINE);
+                } else {
+                    st = getLastColourAndStyle(first, st, TextColors.NONE, TextStyles.NONE);
+                }
+
+                String url = m.group("url");
+                if (url.endsWith("&r")) {
+                    String url2 = url.replaceAll("&r$", "");
+                    texts.add((Text) getTextForUrl.invoke(null, url2, url2, whiteSpace, st, m.group("options")));
+                } else {
+                    texts.add((Text) getTextForUrl.invoke(null, url, url, whiteSpace, st, m.group("options")));
+                }
+
+                if (replaceBlueUnderline) {
+                    st = getLastColourAndStyle(first, st, TextColors.WHITE, TextStyles.NONE);
+                }
+            } while (remaining != null && m.find());
+
+            if (remaining != null) {
+                texts.add(
+                        Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
+            }
+
+            return Text.of((Object[]) texts.toArray(new TextElement[texts.size()]));
+        }
+
+        private Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>>
+                createTextTemplateFragmentWithLinks(String message) throws Exception {
+            if (message.isEmpty()) {
+                return new Tuples.NullableTuple<>(Lists.newArrayList(Text.EMPTY), null);
+            }
+
+            Matcher m = this.enhancedUrlParser.matcher(message);
+            if (!m.find()) {
+                return new Tuples.NullableTuple<>(Lists.newArrayList(oldLegacy(message)), null);
+            }
+
+            Map<String, Function<CommandSource, Text>> args = Maps.newHashMap();
+            List<TextRepresentable> texts = Lists.newArrayList();
+            String remaining = message;
+            TextParsingUtils.StyleTuple st = EMPTY;
+            do {
+                String[] textArray = remaining.split(this.enhancedUrlParser.pattern(), 2);
+                TextRepresentable first = Text.builder().color(st.colour).style(st.style)
+                        .append(oldLegacy(textArray[0])).build();
+                texts.add(first);
+                if (textArray.length == 2) {
+                    remaining = textArray[1];
+                } else {
+                    remaining = null;
+                }
+
+                String colourMatch = m.group("colour");
+                if (colourMatch != null && !colourMatch.isEmpty()) {
+                    TextStyle reset = TextStyles.NONE;
+                    if (m.group("reset") != null) {
+                        reset = TextStyles.RESET;
+                    }
+
+                    first = Text.of(reset, oldLegacy(m.group("colour")));
+                }
+
+                st = getLastColourAndStyle(first, st, TextColors.NONE, TextStyles.NONE);
+
+                String whiteSpace = m.group("first");
+                if (m.group("url") != null) {
+                    String url = m.group("url");
+                    texts.add((Text) getTextForUrl.invoke(null, url, url, whiteSpace, st, m.group("options")));
+                } else if (m.group("specialUrl") != null) {
+                    String url = m.group("sUrl");
+                    String msg = m.group("msg");
+                    texts.add((Text) getTextForUrl.invoke(null, url, msg, whiteSpace, st, m.group("optionssurl")));
+                } else {
+                    // {{subject}} commands are not used in these tests.
+                    String cmd = m.group("sCmd");
+                    String msg = m.group("sMsg");
+                    String optionList = m.group("optionsscmd");
+                    texts.add(Text.of(st.colour, st.style, getCmd.invoke(this.textParsingUtils, msg, cmd, optionList, whiteSpace)));
+                }
+            } while (remaining != null && m.find());
+
+            if (remaining != null) {
+                Text.Builder tb = Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining));
+                if (remaining.matches("^\\s+&r.*")) {
+                    tb.style(TextStyles.RESET);
+                }
+
+                texts.add(tb.build());
+            }
+
+            return new Tuples.NullableTuple<>(texts, args);
+        }
+
+        private static Text oldLegacy(String message) {
+            Matcher colourMatcher = colours.matcher(message);
+            if (colourMatcher.matches()) {
+                Text first = TextSerializers.FORMATTING_CODE.deserialize(message.replace(colourMatcher.group("colour"), ""));
+                String match = colourMatcher.group("colour") + " ";
+                Text t = TextSerializers.FORMATTING_CODE.deserialize(match);
+                return Text.of(first, t.getColor(), first.getStyle().and(t.getStyle()));
+            }
+
+            return TextSerializers.FORMATTING_CODE.deserialize(message);
+        }
+
+        private static TextParsingUtils.StyleTuple getLastColourAndStyle(TextRepresentable text, TextParsingUtils.StyleTuple current,
+                TextColor defaultColour, TextStyle defaultStyle) {
+            List<Text> texts = flatten(text.toText());
+            TextColor tc = TextColors.NONE;
+            TextStyle ts = texts.get(texts.size() - 1).getStyle();
+
+            for (int i = texts.size() - 1; i > -1; i--) {
+                tc = texts.get(i).getColor();
+                if (tc != TextColors.NONE) {
+                    break;
+                }
+            }
+
+            if (tc == TextColors.NONE) {
+                tc = defaultColour;
+            }
+
+            try {
+                if (current == null) {
+                    return styleTupleConstructor.newInstance(tc, ts);
+                }
+
+                return styleTupleConstructor.newInstance(tc != TextColors.NONE ? tc : current.colour, ts);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static List<Text> flatten(Text text) {
+            List<Text> texts = Lists.newArrayList(text);
+            if (!text.getChildren().isEmpty()) {
+                text.getChildren().forEach(x -> texts.addAll(flatten(x)));
+            }
+
+            return texts;
+        }
+    }
+}
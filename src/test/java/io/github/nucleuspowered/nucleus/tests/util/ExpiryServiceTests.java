@@ -0,0 +1,163 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.util;
+
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExpiryServiceTests {
+
+    private static final long START = 1_000_000L;
+
+    private final AtomicLong time = new AtomicLong();
+    private final List<String> fired = new ArrayList<>();
+    private ExpiryService service;
+
+    @Before
+    public void setup() {
+        this.time.set(START);
+        this.fired.clear();
+        this.service = new ExpiryService(this.time::get);
+    }
+
+    @Test
+    public void testExpiryIsRoundedUpToTheNextSecond() {
+        schedule("a", START + 1500);
+
+        tickAt(START + 1999);
+        Assert.assertTrue(this.fired.isEmpty());
+
+        tickAt(START + 2000);
+        Assert.assertEquals(1, this.fired.size());
+    }
+
+    @Test
+    public void testExpiryInThePastRunsOnTheNextTick() {
+        schedule("a", 0);
+
+        tickAt(START);
+        Assert.assertTrue(this.fired.isEmpty());
+
+        tickAt(START + 1000);
+        Assert.assertEquals(1, this.fired.size());
+    }
+
+    @Test
+    public void testExpiryMoreThanATurnAwayDoesNotRunEarly() {
+        // 600 slots away, so it shares a slot with the tick 88 seconds from now.
+        schedule("a", START + 600_000);
+
+        for (long ms = START + 1000; ms < START + 600_000; ms += 1000) {
+            tickAt(ms);
+            Assert.assertTrue("Ran early at " + ms, this.fired.isEmpty());
+        }
+
+        tickAt(START + 600_000);
+        Assert.assertEquals(1, this.fired.size());
+    }
+
+    @Test
+    public void testFallingMoreThanATurnBehindCatchesUp() {
+        schedule("a", START + 10_000);
+        schedule("b", START + 300_000);
+        schedule("c", START + 5_000_000);
+
+        tickAt(START + 2_000_000);
+        Assert.assertEquals(2, this.fired.size());
+        Assert.assertTrue(this.fired.contains("a"));
+        Assert.assertTrue(this.fired.contains("b"));
+        Assert.assertEquals(1, this.service.size());
+
+        tickAt(START + 4_999_000);
+        Assert.assertEquals(2, this.fired.size());
+
+        tickAt(START + 5_000_000);
+        Assert.assertEquals(3, this.fired.size());
+        Assert.assertEquals("c", this.fired.get(2));
+        Assert.assertEquals(0, this.service.size());
+    }
+
+    @Test
+    public void testEachEntryRunsOnlyOnce() {
+        schedule("a", START + 1000);
+
+        tickAt(START + 1000);
+        tickAt(START + 1000);
+        tickAt(START + 513_000);
+        Assert.assertEquals(1, this.fired.size());
+    }
+
+    @Test
+    public void testSchedulingAgainReplacesTheEntry() {
+        UUID id = UUID.randomUUID();
+        schedule(id, "first", START + 10_000);
+        schedule(id, "second", START + 20_000);
+        Assert.assertEquals(1, this.service.size());
+
+        tickAt(START + 10_000);
+        Assert.assertTrue(this.fired.isEmpty());
+
+        tickAt(START + 20_000);
+        Assert.assertEquals(1, this.fired.size());
+        Assert.assertEquals("second", this.fired.get(0));
+    }
+
+    @Test
+    public void testSchedulingAgainSoonerReplacesTheEntry() {
+        UUID id = UUID.randomUUID();
+        schedule(id, "first", START + 20_000);
+        schedule(id, "second", START + 10_000);
+
+        tickAt(START + 10_000);
+        tickAt(START + 20_000);
+        Assert.assertEquals(1, this.fired.size());
+        Assert.assertEquals("second", this.fired.get(0));
+    }
+
+    @Test
+    public void testCancelledEntryDoesNotRun() {
+        UUID id = UUID.randomUUID();
+        schedule(id, "a", START + 10_000);
+
+        Assert.assertTrue(this.service.cancel("test", id));
+        Assert.assertFalse(this.service.cancel("test", id));
+        Assert.assertEquals(0, this.service.size());
+
+        tickAt(START + 10_000);
+        Assert.assertTrue(this.fired.isEmpty());
+    }
+
+    @Test
+    public void testTypesAreSeparate() {
+        UUID id = UUID.randomUUID();
+        schedule(id, "a", START + 10_000);
+        this.service.schedule("other", id, Instant.ofEpochMilli(START + 10_000), () -> this.fired.add("b"));
+        Assert.assertEquals(2, this.service.size());
+
+        tickAt(START + 10_000);
+        Assert.assertEquals(2, this.fired.size());
+    }
+
+    private void schedule(String name, long expiry) {
+        schedule(UUID.randomUUID(), name, expiry);
+    }
+
+    private void schedule(UUID id, String name, long expiry) {
+        this.service.schedule("test", id, Instant.ofEpochMilli(expiry), () -> this.fired.add(name));
+    }
+
+    private void tickAt(long ms) {
+        this.time.set(ms);
+        this.service.tick();
+    }
+}